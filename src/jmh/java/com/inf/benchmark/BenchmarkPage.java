@@ -0,0 +1,29 @@
+package com.inf.benchmark;
+
+import java.util.List;
+
+import org.openqa.selenium.WebDriver;
+
+import com.inf.commons.BasePage;
+
+public class BenchmarkPage extends BasePage {
+	public static final String ITEM = "CSS=li.item";
+	public static final String ITEM_BY_INDEX = "XPATH=//li[@data-index='%s']";
+	public static final String TARGET = "ID=target";
+
+	public List<String> readAllItemText(WebDriver driver) {
+		return getAllElementText(driver, ITEM);
+	}
+
+	public int countItems(WebDriver driver) {
+		return getElementSize(driver, ITEM);
+	}
+
+	public String readItemText(WebDriver driver, String index) {
+		return getElementText(driver, ITEM_BY_INDEX, index);
+	}
+
+	public void waitForTarget(WebDriver driver) {
+		waitForElementVisible(driver, TARGET);
+	}
+}
@@ -0,0 +1,39 @@
+package com.inf.benchmark;
+
+import java.time.Duration;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import com.inf.commons.BrowserProfile;
+import com.inf.commons.GlobalConstants;
+import com.inf.driver.DriverProvisioner;
+
+/**
+ * One headless Chrome per benchmark trial, opened on a fixture page from the test classpath so benchmarks
+ * need no network once the driver is in the provisioning cache.
+ */
+@State(Scope.Benchmark)
+public class BrowserFixture {
+	public WebDriver driver;
+	public BenchmarkPage page;
+
+	@Setup(Level.Trial)
+	public void openBrowser() {
+		DriverProvisioner.provision("chrome");
+		driver = new ChromeDriver(BrowserProfile.HEADLESS.chromeOptions());
+		driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(GlobalConstants.ZERO_IMPLICIT_WAIT ? 0 : GlobalConstants.LONG_TIMEOUT));
+		driver.get(BrowserFixture.class.getResource("/fixtures/list.html").toString());
+		page = new BenchmarkPage();
+	}
+
+	@TearDown(Level.Trial)
+	public void closeBrowser() {
+		driver.quit();
+	}
+}
@@ -0,0 +1,51 @@
+package com.inf.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Reading the text of the 50 items of the fixture list in one script call through BasePage, compared with
+ * one findElements call followed by a getText round trip per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElementReadBenchmark {
+
+	@Benchmark
+	public List<String> bulkRead(BrowserFixture fixture) {
+		return fixture.page.readAllItemText(fixture.driver);
+	}
+
+	@Benchmark
+	public List<String> perElementRead(BrowserFixture fixture) {
+		List<String> texts = new ArrayList<>();
+		for (WebElement element : fixture.driver.findElements(By.cssSelector("li.item"))) {
+			texts.add(element.getText());
+		}
+		return texts;
+	}
+
+	@Benchmark
+	public int bulkCount(BrowserFixture fixture) {
+		return fixture.page.countItems(fixture.driver);
+	}
+
+	@Benchmark
+	public String singleDynamicRead(BrowserFixture fixture) {
+		return fixture.page.readItemText(fixture.driver, "25");
+	}
+}
@@ -0,0 +1,91 @@
+package com.inf.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import com.inf.commons.Locator;
+import com.inf.commons.LocatorCache;
+
+/**
+ * Locator handling as done by BasePage, compared with compiling on every call and with the string parsing
+ * BasePage used before locators were compiled. Static locators go through the cached toBy() of
+ * getByLocator(locatorType), dynamic ones through toBy(values) of getByLocator(locatorType, values) and format
+ * of getDynamicLocator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorBenchmark {
+	private static final String DYNAMIC_VALUE = "7";
+
+	@State(Scope.Benchmark)
+	public static class StaticLocator {
+		@Param({ "XPATH=//li[@data-index='7']", "CSS=li.item", "ID=target" })
+		public String locatorType;
+	}
+
+	@State(Scope.Benchmark)
+	public static class DynamicLocator {
+		@Param({ "XPATH=//li[@data-index='%s']", "XPATH=//div[@id='%s']//li[text()='%s']" })
+		public String locatorType;
+	}
+
+	@Benchmark
+	public By staticGetByLocator(StaticLocator locator) {
+		return LocatorCache.getLocator(locator.locatorType).toBy();
+	}
+
+	@Benchmark
+	public By staticCompileEveryCall(StaticLocator locator) {
+		return Locator.compile(locator.locatorType).toBy();
+	}
+
+	@Benchmark
+	public By staticLegacyStringParsing(StaticLocator locator) {
+		return legacyGetByLocator(locator.locatorType);
+	}
+
+	@Benchmark
+	public By dynamicGetByLocator(DynamicLocator locator) {
+		return LocatorCache.getLocator(locator.locatorType).toBy(DYNAMIC_VALUE, DYNAMIC_VALUE);
+	}
+
+	@Benchmark
+	public String dynamicGetDynamicLocator(DynamicLocator locator) {
+		return LocatorCache.getLocator(locator.locatorType).format(DYNAMIC_VALUE, DYNAMIC_VALUE);
+	}
+
+	@Benchmark
+	public By dynamicCompileEveryCall(DynamicLocator locator) {
+		return Locator.compile(locator.locatorType).toBy(DYNAMIC_VALUE, DYNAMIC_VALUE);
+	}
+
+	@Benchmark
+	public By dynamicLegacyStringParsing(DynamicLocator locator) {
+		return legacyGetByLocator(String.format(locator.locatorType, DYNAMIC_VALUE, DYNAMIC_VALUE));
+	}
+
+	private static By legacyGetByLocator(String locator) {
+		if (locator.startsWith("xpath=") | locator.startsWith("Xpath=") | locator.startsWith("XPATH") | locator.startsWith("XPath=")) {
+			return By.xpath(locator.substring(6));
+		} else if (locator.startsWith("css=") | locator.startsWith("Css=") | locator.startsWith("CSS=")) {
+			return By.cssSelector(locator.substring(4));
+		} else if (locator.startsWith("id=") | locator.startsWith("Id=") | locator.startsWith("ID=")) {
+			return By.id(locator.substring(3));
+		}
+		throw new IllegalStateException("Unexpected locator " + locator);
+	}
+}
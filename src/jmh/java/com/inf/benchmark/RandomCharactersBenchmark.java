@@ -0,0 +1,77 @@
+package com.inf.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.inf.utils.RandomCharacters;
+
+/**
+ * Throughput of RandomCharacters.uniqueEmail at 1, 4 and as many threads as cores, against the same email built
+ * from a shared Random and counter. Per-thread state should scale with the thread count where the shared one
+ * flattens out; compare the ops/us of the three thread counts of each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomCharactersBenchmark {
+	private static final String[] NAMES = { "anna", "binh", "carlos", "dana", "elif", "farah", "giulia", "hoa" };
+
+	private final Random sharedRandom = new Random();
+	private final AtomicLong sharedCounter = new AtomicLong();
+
+	@Benchmark
+	@Threads(1)
+	public String uniqueEmail1Thread() {
+		return RandomCharacters.uniqueEmail();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String uniqueEmail4Threads() {
+		return RandomCharacters.uniqueEmail();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String uniqueEmailMaxThreads() {
+		return RandomCharacters.uniqueEmail();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public String sharedRandom1Thread() {
+		return sharedRandomEmail();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String sharedRandom4Threads() {
+		return sharedRandomEmail();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String sharedRandomMaxThreads() {
+		return sharedRandomEmail();
+	}
+
+	private String sharedRandomEmail() {
+		return NAMES[sharedRandom.nextInt(NAMES.length)] + "." + NAMES[sharedRandom.nextInt(NAMES.length)] + "."
+				+ Long.toString(sharedCounter.getAndIncrement(), Character.MAX_RADIX) + "@example.com";
+	}
+}
@@ -0,0 +1,72 @@
+package com.inf.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.masterthought.cucumber.Configuration;
+import net.masterthought.cucumber.ReportBuilder;
+import net.masterthought.cucumber.Reportable;
+
+/**
+ * masterthought report generation for a synthetic cucumber.json with the given number of scenarios of five
+ * steps each.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+	@Param({ "100", "1000" })
+	public int scenarios;
+
+	private File jsonFile;
+	private File outputDirectory;
+
+	@Setup(Level.Trial)
+	public void writeCucumberJson() throws IOException {
+		File directory = Files.createTempDirectory("report-benchmark").toFile();
+		jsonFile = new File(directory, "cucumber.json");
+		outputDirectory = new File(directory, "report");
+		try (Writer writer = Files.newBufferedWriter(jsonFile.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("[{\"uri\":\"features/benchmark.feature\",\"id\":\"benchmark\",\"keyword\":\"Feature\",\"name\":\"Benchmark\",\"line\":1,\"elements\":[");
+			for (int scenario = 0; scenario < scenarios; scenario++) {
+				writer.write(scenario == 0 ? "" : ",");
+				writer.write("{\"id\":\"benchmark;scenario-" + scenario + "\",\"keyword\":\"Scenario\",\"name\":\"Scenario " + scenario
+						+ "\",\"line\":" + (scenario + 2) + ",\"type\":\"scenario\",\"steps\":[");
+				for (int step = 0; step < 5; step++) {
+					writer.write(step == 0 ? "" : ",");
+					writer.write("{\"keyword\":\"Given \",\"name\":\"step " + step + "\",\"line\":" + (scenario + 3)
+							+ ",\"match\":{\"location\":\"Steps.step()\"},\"result\":{\"status\":\"passed\",\"duration\":1000000}}");
+				}
+				writer.write("]}");
+			}
+			writer.write("]}]");
+		}
+	}
+
+	@Benchmark
+	public Reportable generateReport() {
+		Configuration configuration = new Configuration(outputDirectory, "CUCUMBER FRAMEWORK");
+		return new ReportBuilder(Collections.singletonList(jsonFile.getAbsolutePath()), configuration).generateReports();
+	}
+}
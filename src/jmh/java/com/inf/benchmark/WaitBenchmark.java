@@ -0,0 +1,62 @@
+package com.inf.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.inf.commons.GlobalConstants;
+import com.inf.commons.PollingWait;
+
+/**
+ * Time to notice an element that becomes visible 50 ms after the wait starts. The difference to 50 ms is
+ * the latency a wait strategy adds on top of the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaitBenchmark {
+	private static final long APPEAR_AFTER_MILLIS = 50;
+	private static final By TARGET = By.id("target");
+
+	@Benchmark
+	public Object webDriverWait(BrowserFixture fixture) {
+		showTargetLater(fixture);
+		return new WebDriverWait(fixture.driver, Duration.ofSeconds(GlobalConstants.LONG_TIMEOUT)).until(ExpectedConditions.visibilityOfElementLocated(TARGET));
+	}
+
+	@Benchmark
+	public Object pollingWait(BrowserFixture fixture) {
+		showTargetLater(fixture);
+		return new PollingWait(fixture.driver, GlobalConstants.LONG_TIMEOUT).until("benchmark target", ExpectedConditions.visibilityOfElementLocated(TARGET));
+	}
+
+	@Benchmark
+	public void basePageWait(BrowserFixture fixture) {
+		showTargetLater(fixture);
+		fixture.page.waitForTarget(fixture.driver);
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-DWaitBackend=observer")
+	public void basePageObserverWait(BrowserFixture fixture) {
+		showTargetLater(fixture);
+		fixture.page.waitForTarget(fixture.driver);
+	}
+
+	private static void showTargetLater(BrowserFixture fixture) {
+		((JavascriptExecutor) fixture.driver).executeScript("showTargetAfter(arguments[0]);", APPEAR_AFTER_MILLIS);
+	}
+}
@@ -0,0 +1,137 @@
+package com.inf.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.net.httpserver.HttpServer;
+
+import cucumberoptions.VirtualThreadRunner;
+
+/**
+ * A batch of scenarios run the way TestNG's parallel data provider runs them, on a fixed pool of concurrency
+ * platform threads, and through {@link VirtualThreadRunner#runAll}, one virtual thread per scenario behind a
+ * semaphore with concurrency permits. Each step is a blocking HTTP round trip to a local server that answers
+ * after stepMillis, standing in for a WebDriver command: one shared client, and the calling thread waits for the
+ * reply as it does in Selenium's client.
+ * Compare the time per batch, and the allocation with -prof gc; a platform thread also reserves a native stack of
+ * -Xss (1 MB by default) that the heap figures do not show.
+ * Needs JDK 21: mvn -Pjava21,benchmark test-compile exec:exec -Djmh.includes=ScenarioExecutor -Djmh.args="-prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScenarioExecutorBenchmark {
+	private static final byte[] REPLY = "{\"value\":null}".getBytes(StandardCharsets.UTF_8);
+
+	@Param({ "8", "64", "512" })
+	public int concurrency;
+
+	@Param({ "1024" })
+	public int scenarios;
+
+	@Param({ "10" })
+	public int steps;
+
+	@Param({ "2" })
+	public long stepMillis;
+
+	private HttpServer server;
+	private ExecutorService serverThreads;
+	private HttpClient client;
+	private HttpRequest command;
+	private ExecutorService platformThreads;
+
+	@Setup(Level.Trial)
+	public void start() throws IOException {
+		serverThreads = Executors.newCachedThreadPool();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+		server.createContext("/session/benchmark/url", exchange -> {
+			try {
+				Thread.sleep(stepMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			exchange.sendResponseHeaders(200, REPLY.length);
+			try (OutputStream body = exchange.getResponseBody()) {
+				body.write(REPLY);
+			}
+		});
+		server.setExecutor(serverThreads);
+		server.start();
+		client = HttpClient.newHttpClient();
+		command = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/session/benchmark/url")).GET().build();
+		platformThreads = Executors.newFixedThreadPool(concurrency);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		platformThreads.shutdownNow();
+		server.stop(0);
+		serverThreads.shutdownNow();
+	}
+
+	@Benchmark
+	public void platformThreadPool() throws InterruptedException {
+		List<Callable<Object>> tasks = new ArrayList<>(scenarios);
+		for (Runnable scenario : scenarios()) {
+			tasks.add(Executors.callable(scenario));
+		}
+		platformThreads.invokeAll(tasks);
+	}
+
+	@Benchmark
+	public void virtualThreadRunner() {
+		VirtualThreadRunner.runAll(scenarios(), concurrency);
+	}
+
+	private List<Runnable> scenarios() {
+		List<Runnable> batch = new ArrayList<>(scenarios);
+		for (int i = 0; i < scenarios; i++) {
+			batch.add(this::runScenario);
+		}
+		return batch;
+	}
+
+	private void runScenario() {
+		for (int step = 0; step < steps; step++) {
+			try {
+				client.send(command, HttpResponse.BodyHandlers.ofByteArray());
+			} catch (IOException e) {
+				throw new IllegalStateException("Command failed", e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+}
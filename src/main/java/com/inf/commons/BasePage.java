@@ -1,8 +1,11 @@
 package com.inf.commons;
 
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
@@ -11,22 +14,27 @@ import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.inf.fixture.SiteResolver;
+import com.inf.metrics.ActionMetrics;
+import com.inf.network.NetworkTracker;
 
 
 public abstract class BasePage {
 	private long longTimeout = GlobalConstants.LONG_TIMEOUT;
-	private long shortTimeout = GlobalConstants.SHORT_TIMEOUT;
 	private static final Logger LOG = LogManager.getLogger(BasePage.class.getName());
 
 	protected void openPageURL(WebDriver driver, String url) {
-		driver.get(url);
+		ElementCache.invalidate(driver);
+		driver.get(SiteResolver.resolve(url));
 	}
 
 	protected String getPageTitle(WebDriver driver) {
@@ -42,20 +50,22 @@ public abstract class BasePage {
 	}
 
 	protected void backToPage(WebDriver driver) {
+		ElementCache.invalidate(driver);
 		driver.navigate().back();
 	}
 
 	protected void forwardToPage(WebDriver driver) {
+		ElementCache.invalidate(driver);
 		driver.navigate().forward();
 	}
 
 	protected void refreshToPage(WebDriver driver) {
+		ElementCache.invalidate(driver);
 		driver.navigate().refresh();
 	}
 
 	protected Alert waitAlertPresence(WebDriver driver) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		return explicitWait.until(ExpectedConditions.alertIsPresent());
+		return new PollingWait(driver, longTimeout).until(ExpectedConditions.alertIsPresent());
 	}
 
 	protected void acceptAlert(WebDriver driver) {
@@ -76,78 +86,155 @@ public abstract class BasePage {
 	}
 
 	protected void switchWindowByID(WebDriver driver, String oppositeParentWindow) {
-		Set<String> allWindowIDs = driver.getWindowHandles();
-		for (String windowID : allWindowIDs) {
-			if (!windowID.equals(oppositeParentWindow)) {
-				driver.switchTo().window(windowID);
-				sleepInSecond(1);
-			}
-		}
+		WindowManager.of(driver).switchToOtherWindow(oppositeParentWindow);
 	}
 
 	protected void switchWindowByTitle(WebDriver driver, String expectedTitle) {
-		Set<String> allWindowIDs = driver.getWindowHandles();
-		for (String windowID : allWindowIDs) {
-			driver.switchTo().window(windowID);
-			sleepInSecond(1);
-			String actualTitle = getPageTitle(driver);
-			if (actualTitle.trim().equals(expectedTitle)) {
-				break;
-			}
-		}
+		WindowManager.of(driver).switchToWindowByTitle(expectedTitle);
+	}
+
+	protected void switchWindowByURL(WebDriver driver, String urlRegex) {
+		WindowManager.of(driver).switchToWindowByUrl(urlRegex);
+	}
+
+	protected void switchToChildWindow(WebDriver driver, String openerWindowID) {
+		WindowManager.of(driver).switchToChildWindow(openerWindowID);
+	}
+
+	protected String waitForNewWindow(WebDriver driver, Set<String> previousWindowIDs) {
+		return WindowManager.of(driver).waitForNewWindow(previousWindowIDs);
 	}
 
 	protected void closeAllWindowWithoutParent(WebDriver driver, String parentWindowID) {
-		Set<String> allWindowIDs = driver.getWindowHandles();
-		for (String windowID : allWindowIDs) {
-			driver.switchTo().window(windowID);
-			sleepInSecond(1);
-			if (!windowID.equals(parentWindowID)) {
-				driver.close();
-			}
-		}
-		switchWindowByID(driver, parentWindowID);
+		WindowManager.of(driver).closeAllWindowsExcept(parentWindowID);
 	}
 
 	public void sleepInSecond(long second) {
+		long start = System.nanoTime();
 		try {
 			Thread.sleep(second * 1000);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
+		ActionMetrics.record("sleepInSecond", null, System.nanoTime() - start);
 	}
 
 	private By getByLocator(String locatorType) {
-		By by = null;
-		if (locatorType.startsWith("xpath=") | locatorType.startsWith("Xpath=") | locatorType.startsWith("XPATH") | locatorType.startsWith("XPath=")) {
-			by = By.xpath(locatorType.substring(6));
-		} else if (locatorType.startsWith("css=") | locatorType.startsWith("Css=") | locatorType.startsWith("CSS=")) {
-			by = By.cssSelector(locatorType.substring(4));
-		} else if (locatorType.startsWith("id=") | locatorType.startsWith("Id=") | locatorType.startsWith("ID=")) {
-			by = By.id(locatorType.substring(3));
-		} else if (locatorType.startsWith("name=") | locatorType.startsWith("Name=") | locatorType.startsWith("NAME=")) {
-			by = By.name(locatorType.substring(5));
-		} else if (locatorType.startsWith("class=") | locatorType.startsWith("Class=") | locatorType.startsWith("CLASS=")) {
-			by = By.className(locatorType.substring(6));
-		} else {
-			throw new RuntimeException("This locator is invalid. Please check again the syntax!");
-		}
-		return by;
+		return LocatorCache.getLocator(locatorType).toBy();
+	}
+
+	private By getByLocator(String locatorType, String... dynamicValues) {
+		return LocatorCache.getLocator(locatorType).toBy(dynamicValues);
 	}
 
 	private String getDynamicLocator(String locatorType, String... dynamicValues) {
-		if (locatorType.startsWith("xpath=") | locatorType.startsWith("Xpath=") | locatorType.startsWith("XPATH") | locatorType.startsWith("XPath=")) {
-			locatorType = String.format(locatorType, (Object[]) dynamicValues);
-		}
-		return locatorType;
+		return LocatorCache.getLocator(locatorType).format(dynamicValues);
 	}
 
 	private WebElement getWebElement(WebDriver driver, String locatorType) {
-		return driver.findElement(getByLocator(locatorType));
+		return findWebElement(driver, getByLocator(locatorType));
+	}
+
+	private WebElement getWebElement(WebDriver driver, String locatorType, String... dynamicValues) {
+		return findWebElement(driver, getByLocator(locatorType, dynamicValues));
+	}
+
+	private WebElement getWebElement(WebDriver driver, Locator locator) {
+		return findWebElement(driver, locator.toBy());
+	}
+
+	private WebElement findWebElement(WebDriver driver, By by) {
+		ElementCache elementCache = ElementCache.getCache(driver);
+		if (elementCache != null) {
+			return elementCache.getElement(by);
+		}
+		if (GlobalConstants.ZERO_IMPLICIT_WAIT) {
+			return new PollingWait(driver, longTimeout).until("presence of " + by, "presence of " + Locator.templateOf(by), currentDriver -> currentDriver.findElement(by));
+		}
+		return driver.findElement(by);
+	}
+
+	private void fillFieldNatively(WebDriver driver, Locator locator, String value) {
+		WebElement element = getWebElement(driver, locator);
+		String type = "select".equalsIgnoreCase(element.getTagName()) ? "select" : String.valueOf(element.getAttribute("type")).toLowerCase(Locale.ROOT);
+		switch (type) {
+		case "select":
+			Select select = new Select(element);
+			try {
+				select.selectByVisibleText(value);
+			} catch (NoSuchElementException e) {
+				select.selectByValue(value);
+			}
+			break;
+		case "checkbox":
+			if (element.isSelected() != Boolean.parseBoolean(value)) {
+				element.click();
+			}
+			break;
+		case "radio":
+			if (!"true".equals(value)) {
+				element = findListWebElement(driver, locator.toBy()).stream().filter(radio -> value.equals(radio.getAttribute("value"))).findFirst()
+						.orElseThrow(() -> new NoSuchElementException("No radio with value " + value + " for " + locator));
+			}
+			if (!element.isSelected()) {
+				element.click();
+			}
+			break;
+		default:
+			element.clear();
+			element.sendKeys(value);
+		}
+	}
+
+	private void retryIfStale(WebElement element, Runnable action) {
+		try {
+			action.run();
+		} catch (StaleElementReferenceException e) {
+			if (!(element instanceof CachedWebElement)) {
+				throw e;
+			}
+			((CachedWebElement) element).refresh();
+			action.run();
+		}
+	}
+
+	private Object executeScriptOnElement(WebDriver driver, String script, WebElement element, Object... arguments) {
+		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
+		Object[] allArguments = new Object[arguments.length + 1];
+		allArguments[0] = element;
+		System.arraycopy(arguments, 0, allArguments, 1, arguments.length);
+		try {
+			return jsExecutor.executeScript(script, allArguments);
+		} catch (StaleElementReferenceException e) {
+			if (!(element instanceof CachedWebElement)) {
+				throw e;
+			}
+			allArguments[0] = ((CachedWebElement) element).refresh();
+			return jsExecutor.executeScript(script, allArguments);
+		}
+	}
+
+	private ElementSnapshot getFirstElementSnapshot(WebDriver driver, String locatorType, ElementProperty property, String... dynamicValues) {
+		return BulkElementReader.readFirst(driver, LocatorCache.getLocator(locatorType), dynamicValues, EnumSet.of(property));
 	}
 
 	private List<WebElement> getListWebElement(WebDriver driver, String locatorType) {
-		return driver.findElements(getByLocator(locatorType));
+		return findListWebElement(driver, getByLocator(locatorType));
+	}
+
+	private List<WebElement> getListWebElement(WebDriver driver, String locatorType, String... dynamicValues) {
+		return findListWebElement(driver, getByLocator(locatorType, dynamicValues));
+	}
+
+	private List<WebElement> findListWebElement(WebDriver driver, By by) {
+		if (GlobalConstants.ZERO_IMPLICIT_WAIT) {
+			List<WebElement> elements = new PollingWait(driver, longTimeout).untilOrNull("presence of all " + by, "presence of all " + Locator.templateOf(by), currentDriver -> {
+				List<WebElement> current = currentDriver.findElements(by);
+				return current.isEmpty() ? null : current;
+			});
+			return elements == null ? new ArrayList<WebElement>() : elements;
+		}
+		return driver.findElements(by);
 	}
 
 	protected void clickToElement(WebDriver driver, String locatorType) {
@@ -155,7 +242,11 @@ public abstract class BasePage {
 	}
 
 	protected void clickToElement(WebDriver driver, String locatorType, String... dynamicValues) {
-		getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)).click();
+		getWebElement(driver, locatorType, dynamicValues).click();
+	}
+
+	protected void clickToElement(WebDriver driver, Locator locator) {
+		getWebElement(driver, locator).click();
 	}
 
 	protected void sendkeyToElement(WebDriver driver, String locatorType, String textValue) {
@@ -165,7 +256,13 @@ public abstract class BasePage {
 	}
 
 	protected void sendkeyToElement(WebDriver driver, String locatorType, String textValue, String... dynamicValues) {
-		WebElement element = getWebElement(driver, getDynamicLocator(locatorType, dynamicValues));
+		WebElement element = getWebElement(driver, locatorType, dynamicValues);
+		element.clear();
+		element.sendKeys(textValue);
+	}
+
+	protected void sendkeyToElement(WebDriver driver, Locator locator, String textValue) {
+		WebElement element = getWebElement(driver, locator);
 		element.clear();
 		element.sendKeys(textValue);
 	}
@@ -174,46 +271,98 @@ public abstract class BasePage {
 		getWebElement(driver, locatorType).sendKeys(textValue);
 	}
 
+	/**
+	 * Fills the fields in map order, most of them in a single scripted pass; see {@link FormData} for the values
+	 * each kind of field takes.
+	 */
+	protected void fillForm(WebDriver driver, Map<String, String> fieldValues) {
+		fillForm(driver, FormData.of(fieldValues));
+	}
+
+	protected void fillForm(WebDriver driver, FormData form) {
+		FormFiller.fill(driver, form, field -> {
+			if (field.nativeTyping) {
+				sendkeyToElement(driver, field.locator, field.value);
+			} else {
+				fillFieldNatively(driver, field.locator, field.value);
+			}
+		});
+	}
+
 	protected String getElementText(WebDriver driver, String locatorType) {
 		return getWebElement(driver, locatorType).getText();
 	}
 
 	protected String getElementText(WebDriver driver, String locatorType, String... dynamicValues) {
-		return getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)).getText();
+		return getWebElement(driver, locatorType, dynamicValues).getText();
+	}
+
+	protected String getElementText(WebDriver driver, Locator locator) {
+		return getWebElement(driver, locator).getText();
 	}
 
 	protected List<String> getAllElementText(WebDriver driver, String locatorType) {
 		List<String> allElementText = new ArrayList<String>();
-		List<WebElement> allElement = getListWebElement(driver, locatorType);
-		for (WebElement element : allElement) {
-			allElementText.add(element.getText());
+		for (ElementSnapshot snapshot : getAllElementSnapshot(driver, locatorType, EnumSet.of(ElementProperty.TEXT), Collections.emptyList())) {
+			allElementText.add(snapshot.getText());
 		}
 		return allElementText;
 	}
 
 	protected List<String> getAllElementText(WebDriver driver, String locatorType, String... dynamicValues) {
 		List<String> allElementText = new ArrayList<String>();
-		List<WebElement> allElement = getListWebElement(driver, getDynamicLocator(locatorType, dynamicValues));
-		for (WebElement element : allElement) {
-			allElementText.add(element.getText());
+		for (ElementSnapshot snapshot : getAllElementSnapshot(driver, locatorType, EnumSet.of(ElementProperty.TEXT), Collections.emptyList(), dynamicValues)) {
+			allElementText.add(snapshot.getText());
 		}
 		return allElementText;
 	}
 
+	protected List<String> getAllElementAttribute(WebDriver driver, String locatorType, String attributeName) {
+		List<String> allElementAttribute = new ArrayList<String>();
+		for (ElementSnapshot snapshot : getAllElementSnapshot(driver, locatorType, EnumSet.noneOf(ElementProperty.class), List.of(attributeName))) {
+			allElementAttribute.add(snapshot.getAttribute(attributeName));
+		}
+		return allElementAttribute;
+	}
+
+	protected List<String> getAllElementAttribute(WebDriver driver, String locatorType, String attributeName, String... dynamicValues) {
+		List<String> allElementAttribute = new ArrayList<String>();
+		for (ElementSnapshot snapshot : getAllElementSnapshot(driver, locatorType, EnumSet.noneOf(ElementProperty.class), List.of(attributeName), dynamicValues)) {
+			allElementAttribute.add(snapshot.getAttribute(attributeName));
+		}
+		return allElementAttribute;
+	}
+
+	protected List<ElementSnapshot> getAllElementSnapshot(WebDriver driver, String locatorType, Set<ElementProperty> properties, List<String> attributeNames) {
+		return BulkElementReader.read(driver, LocatorCache.getLocator(locatorType), new String[0], properties, attributeNames);
+	}
+
+	protected List<ElementSnapshot> getAllElementSnapshot(WebDriver driver, String locatorType, Set<ElementProperty> properties, List<String> attributeNames, String... dynamicValues) {
+		return BulkElementReader.read(driver, LocatorCache.getLocator(locatorType), dynamicValues, properties, attributeNames);
+	}
+
 	protected String getElementAttribute(WebDriver driver, String locatorType, String attributeName) {
 		return getWebElement(driver, locatorType).getAttribute(attributeName);
 	}
 
 	protected String getElementAttribute(WebDriver driver, String locatorType, String attributeName, String... dynamicValues) {
-		return getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)).getAttribute(attributeName);
+		return getWebElement(driver, locatorType, dynamicValues).getAttribute(attributeName);
+	}
+
+	protected String getElementAttribute(WebDriver driver, Locator locator, String attributeName) {
+		return getWebElement(driver, locator).getAttribute(attributeName);
 	}
 
 	protected int getElementSize(WebDriver driver, String locatorType) {
-		return getListWebElement(driver, locatorType).size();
+		return BulkElementReader.count(driver, LocatorCache.getLocator(locatorType));
 	}
 
 	protected int getElementSize(WebDriver driver, String locatorType, String... dynamicValues) {
-		return getListWebElement(driver, getDynamicLocator(locatorType, dynamicValues)).size();
+		return BulkElementReader.count(driver, LocatorCache.getLocator(locatorType), dynamicValues);
+	}
+
+	protected int getElementSize(WebDriver driver, Locator locator) {
+		return BulkElementReader.count(driver, locator);
 	}
 
 	protected void selectItemInDefaultDropdown(WebDriver driver, String locatorType, String itemText) {
@@ -222,7 +371,12 @@ public abstract class BasePage {
 	}
 
 	protected void selectItemInDefaultDropdown(WebDriver driver, String locatorType, String itemText, String... dynamicValues) {
-		Select select = new Select(getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)));
+		Select select = new Select(getWebElement(driver, locatorType, dynamicValues));
+		select.selectByVisibleText(itemText);
+	}
+
+	protected void selectItemInDefaultDropdown(WebDriver driver, Locator locator, String itemText) {
+		Select select = new Select(getWebElement(driver, locator));
 		select.selectByVisibleText(itemText);
 	}
 
@@ -232,7 +386,7 @@ public abstract class BasePage {
 	}
 
 	protected String getFirstSelectedItemInDropdown(WebDriver driver, String locatorType, String... dynamicValues) {
-		Select select = new Select(getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)));
+		Select select = new Select(getWebElement(driver, locatorType, dynamicValues));
 		return select.getFirstSelectedOption().getText();
 	}
 
@@ -242,17 +396,15 @@ public abstract class BasePage {
 	}
 
 	protected boolean isDropdownMultiple(WebDriver driver, String locatorType, String... dynamicValues) {
-		Select select = new Select(getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)));
+		Select select = new Select(getWebElement(driver, locatorType, dynamicValues));
 		return select.isMultiple();
 	}
 
 	protected void selectItemInCustomDropdown(WebDriver driver, String parentLocator, String childLocator, String expectedText) {
 		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.elementToBeClickable(getByLocator(parentLocator)));
-		getWebElement(driver, parentLocator).click();
-		explicitWait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(getByLocator(childLocator)));
-		List<WebElement> allElements = getListWebElement(driver, childLocator);
+		PollingWait explicitWait = new PollingWait(driver, longTimeout);
+		explicitWait.until(ExpectedConditions.elementToBeClickable(getByLocator(parentLocator))).click();
+		List<WebElement> allElements = explicitWait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(getByLocator(childLocator)));
 		for (WebElement element : allElements) {
 			String actualText = element.getText().trim();
 			if (actualText.equals(expectedText)) {
@@ -279,7 +431,7 @@ public abstract class BasePage {
 	}
 
 	protected void checkToDefaultCheckboxOrRadio(WebDriver driver, String locatorType, String... dynamicValues) {
-		WebElement element = getWebElement(driver, getDynamicLocator(locatorType, dynamicValues));
+		WebElement element = getWebElement(driver, locatorType, dynamicValues);
 		if (!element.isSelected()) {
 			if (driver.toString().contains("internet explorer")) {
 				clickToElementByJS(driver, getDynamicLocator(locatorType, dynamicValues));
@@ -303,7 +455,7 @@ public abstract class BasePage {
 	}
 
 	protected void uncheckToDefaultCheckbox(WebDriver driver, String locatorType, String... dynamicValues) {
-		WebElement element = getWebElement(driver, getDynamicLocator(locatorType, dynamicValues));
+		WebElement element = getWebElement(driver, locatorType, dynamicValues);
 		if (element.isSelected()) {
 			if (driver.toString().contains("internet explorer")) {
 				clickToElementByJS(driver, getDynamicLocator(locatorType, dynamicValues));
@@ -315,110 +467,112 @@ public abstract class BasePage {
 	}
 
 	protected boolean isElementDisplayed(WebDriver driver, String locatorType) {
-		return getWebElement(driver, locatorType).isDisplayed();
+		return getFirstElementSnapshot(driver, locatorType, ElementProperty.DISPLAYED).isDisplayed();
 	}
 
 	protected boolean isElementDisplayed(WebDriver driver, String locatorType, String... dynamicValues) {
-		return getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)).isDisplayed();
+		return getFirstElementSnapshot(driver, locatorType, ElementProperty.DISPLAYED, dynamicValues).isDisplayed();
+	}
+
+	protected boolean isElementDisplayed(WebDriver driver, Locator locator) {
+		return BulkElementReader.readFirst(driver, locator, new String[0], EnumSet.of(ElementProperty.DISPLAYED)).isDisplayed();
 	}
 
 	protected boolean isElementEnabled(WebDriver driver, String locatorType) {
-		return getWebElement(driver, locatorType).isEnabled();
+		return getFirstElementSnapshot(driver, locatorType, ElementProperty.ENABLED).isEnabled();
 	}
 
 	protected boolean isElementEnabled(WebDriver driver, String locatorType, String... dynamicValues) {
-		return getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)).isEnabled();
+		return getFirstElementSnapshot(driver, locatorType, ElementProperty.ENABLED, dynamicValues).isEnabled();
 	}
 
 	protected boolean isElementSelected(WebDriver driver, String locatorType) {
-		return getWebElement(driver, locatorType).isSelected();
+		return getFirstElementSnapshot(driver, locatorType, ElementProperty.SELECTED).isSelected();
 	}
 
 	protected boolean isElementSelected(WebDriver driver, String locatorType, String... dynamicValues) {
-		return getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)).isSelected();
+		return getFirstElementSnapshot(driver, locatorType, ElementProperty.SELECTED, dynamicValues).isSelected();
 	}
 
 	protected void switchToFrameIframe(WebDriver driver, String locatorType) {
-		driver.switchTo().frame(getWebElement(driver, locatorType));
+		WebElement frame = getWebElement(driver, locatorType);
+		retryIfStale(frame, () -> driver.switchTo().frame(frame));
+		ElementCache.invalidate(driver);
 	}
 
 	protected void switchToFrameIframe(WebDriver driver, String locatorType, String... dynamicValues) {
-		driver.switchTo().frame(getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)));
+		WebElement frame = getWebElement(driver, locatorType, dynamicValues);
+		retryIfStale(frame, () -> driver.switchTo().frame(frame));
+		ElementCache.invalidate(driver);
 	}
 
 	protected void switchToDefaultContent(WebDriver driver) {
+		ElementCache.invalidate(driver);
 		driver.switchTo().defaultContent();
 	}
 
 	protected void hoverMouseToElement(WebDriver driver, String locatorType) {
-		Actions action = new Actions(driver);
-		action.moveToElement(getWebElement(driver, locatorType)).perform();
+		WebElement element = getWebElement(driver, locatorType);
+		retryIfStale(element, () -> new Actions(driver).moveToElement(element).perform());
 	}
 
 	protected void hoverMouseToElement(WebDriver driver, String locatorType, String... dynamicValues) {
-		Actions action = new Actions(driver);
-		action.moveToElement(getWebElement(driver, getDynamicLocator(locatorType, dynamicValues))).perform();
+		WebElement element = getWebElement(driver, locatorType, dynamicValues);
+		retryIfStale(element, () -> new Actions(driver).moveToElement(element).perform());
 	}
 
 	protected void pressKeyToElement(WebDriver driver, String locatorType, Keys key) {
-		Actions action = new Actions(driver);
-		action.sendKeys(getWebElement(driver, locatorType), key).perform();
+		WebElement element = getWebElement(driver, locatorType);
+		retryIfStale(element, () -> new Actions(driver).sendKeys(element, key).perform());
 	}
 
 	protected void pressKeyToElement(WebDriver driver, String locatorType, Keys key, String... dynamicValues) {
-		Actions action = new Actions(driver);
-		action.sendKeys(getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)), key).perform();
+		WebElement element = getWebElement(driver, locatorType, dynamicValues);
+		retryIfStale(element, () -> new Actions(driver).sendKeys(element, key).perform());
 	}
 
 	protected void scrollToElement(WebDriver driver, String locatorType) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		jsExecutor.executeScript("arguments[0].scrollIntoView(true);", getWebElement(driver, locatorType));
+		executeScriptOnElement(driver, "arguments[0].scrollIntoView(true);", getWebElement(driver, locatorType));
 	}
 
 	protected void scrollToElement(WebDriver driver, String locatorType, String... dynamicValues) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		jsExecutor.executeScript("arguments[0].scrollIntoView(true);", getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)));
+		executeScriptOnElement(driver, "arguments[0].scrollIntoView(true);", getWebElement(driver, locatorType, dynamicValues));
 	}
 
 	protected void clickToElementByJS(WebDriver driver, String locatorType) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		jsExecutor.executeScript("arguments[0].click();", getWebElement(driver, locatorType));
+		executeScriptOnElement(driver, "arguments[0].click();", getWebElement(driver, locatorType));
 	}
 
 	protected void clickToElementByJS(WebDriver driver, String locatorType, String... dynamicValues) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		jsExecutor.executeScript("arguments[0].click();", getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)));
+		executeScriptOnElement(driver, "arguments[0].click();", getWebElement(driver, locatorType, dynamicValues));
 	}
 
 	protected void removeAttributeOfElementByJS(WebDriver driver, String locatorType, String attributeName) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		jsExecutor.executeScript("arguments[0].removeAttribute('" + attributeName + "');", getWebElement(driver, locatorType));
+		executeScriptOnElement(driver, "arguments[0].removeAttribute('" + attributeName + "');", getWebElement(driver, locatorType));
 	}
 
 	protected void removeAttributeOfElementByJS(WebDriver driver, String locatorType, String attributeName, String... dynamicValues) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		jsExecutor.executeScript("arguments[0].removeAttribute('" + attributeName + "');", getDynamicLocator(locatorType, dynamicValues));
+		executeScriptOnElement(driver, "arguments[0].removeAttribute('" + attributeName + "');", getWebElement(driver, locatorType, dynamicValues));
 	}
 
 	protected void highlightElementByJS(WebDriver driver, String locatorType) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		String originalStyle = (String) jsExecutor.executeScript("arguments[0].getAttribute(arguments[1]);", getWebElement(driver, locatorType), "style");
-		jsExecutor.executeScript("arguments[0].setAttribute(arguments[1], arguments[2]);", getWebElement(driver, locatorType), "style", "border: 3px dashed red");
+		WebElement element = getWebElement(driver, locatorType);
+		String originalStyle = (String) executeScriptOnElement(driver, "return arguments[0].getAttribute(arguments[1]);", element, "style");
+		executeScriptOnElement(driver, "arguments[0].setAttribute(arguments[1], arguments[2]);", element, "style", "border: 3px dashed red");
 		sleepInSecond(1);
-		jsExecutor.executeScript("arguments[0].setAttribute(arguments[1], arguments[2]);", getWebElement(driver, locatorType), "style", originalStyle);
+		executeScriptOnElement(driver, "arguments[0].setAttribute(arguments[1], arguments[2]);", element, "style", originalStyle);
 	}
 
 	protected void highlightElementByJS(WebDriver driver, String locatorType, String... dynamicValues) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		String originalStyle = (String) jsExecutor.executeScript("arguments[0].getAttribute(arguments[1]);", getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)), "style");
-		jsExecutor.executeScript("arguments[0].setAttribute(arguments[1], arguments[2]);", getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)), "style", "border: 3px dashed red");
+		WebElement element = getWebElement(driver, locatorType, dynamicValues);
+		String originalStyle = (String) executeScriptOnElement(driver, "return arguments[0].getAttribute(arguments[1]);", element, "style");
+		executeScriptOnElement(driver, "arguments[0].setAttribute(arguments[1], arguments[2]);", element, "style", "border: 3px dashed red");
 		sleepInSecond(1);
-		jsExecutor.executeScript("arguments[0].setAttribute(arguments[1], arguments[2]);", getWebElement(driver, getDynamicLocator(locatorType, dynamicValues)), "style", originalStyle);
+		executeScriptOnElement(driver, "arguments[0].setAttribute(arguments[1], arguments[2]);", element, "style", originalStyle);
 	}
 
 	protected boolean checkImageLoaded(WebDriver driver, String locatorType) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		boolean statusImage = (boolean) jsExecutor.executeScript("return arguments[0].complete && arguments[0].naturalWidth >  0 && arguments[0] != 'underfined';", getWebElement(driver, locatorType));
+		boolean statusImage = (boolean) executeScriptOnElement(driver, "return arguments[0].complete && arguments[0].naturalWidth >  0 && arguments[0] != 'underfined';", getWebElement(driver, locatorType));
 		if (statusImage == true) {
 			return true;
 		} else {
@@ -427,8 +581,7 @@ public abstract class BasePage {
 	}
 
 	protected boolean checkImageLoaded(WebDriver driver, String locatorType, String... dynamicValues) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		boolean statusImage = (boolean) jsExecutor.executeScript("return arguments[0].complete && arguments[0].naturalWidth >  0 && arguments[0] != 'underfined';", getDynamicLocator(locatorType, dynamicValues));
+		boolean statusImage = (boolean) executeScriptOnElement(driver, "return arguments[0].complete && arguments[0].naturalWidth >  0 && arguments[0] != 'underfined';", getWebElement(driver, locatorType, dynamicValues));
 		if (statusImage == true) {
 			return true;
 		} else {
@@ -437,17 +590,15 @@ public abstract class BasePage {
 	}
 
 	protected String getValidationHTML5ByJS(WebDriver driver, String locatorType) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		return (String) jsExecutor.executeScript("return arguments[0].validationMessage;", getWebElement(driver, locatorType));
+		return (String) executeScriptOnElement(driver, "return arguments[0].validationMessage;", getWebElement(driver, locatorType));
 	}
 
 	protected String getValidationHTML5ByJS(WebDriver driver, String locatorType, String... dynamicValues) {
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-		return (String) jsExecutor.executeScript("return arguments[0].validationMessage;", getDynamicLocator(locatorType, dynamicValues));
+		return (String) executeScriptOnElement(driver, "return arguments[0].validationMessage;", getWebElement(driver, locatorType, dynamicValues));
 	}
 
 	public boolean isJQueryAjaxLoadedSuccess(WebDriver driver) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
+		PollingWait explicitWait = new PollingWait(driver, longTimeout);
 		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
 		ExpectedCondition<Boolean> jQueryLoad = new ExpectedCondition<Boolean>() {
 
@@ -456,93 +607,99 @@ public abstract class BasePage {
 				return (Boolean) jsExecutor.executeScript("return (window.jQuery != null) && (jQuery.active === 0);");
 			}
 		};
-		return explicitWait.until(jQueryLoad);
+		return explicitWait.until("jQuery ajax loaded", jQueryLoad);
+	}
+
+	protected void waitForNetworkIdle(WebDriver driver) {
+		NetworkTracker.of(driver).waitForNetworkIdle(longTimeout);
 	}
 
-	private void overridingGlobalTimeout(WebDriver driver, long timeout) {
-		driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(timeout));
+	protected String waitForRequest(WebDriver driver, String urlRegex) {
+		return NetworkTracker.of(driver).waitForRequest(urlRegex, longTimeout);
 	}
 
 	protected boolean isElementUndisplayed(WebDriver driver, String locatorType) {
-		overridingGlobalTimeout(driver, shortTimeout);
-		List<WebElement> listElement = getListWebElement(driver, locatorType);
-		overridingGlobalTimeout(driver, longTimeout);
-		if (listElement.size() == 0) {
-			LOG.info("Element is invisible and not in DOM");
-			return true;
-		} else if (listElement.size() > 0 && !listElement.get(0).isDisplayed()) {
-			LOG.info("Element is invisible and in DOM");
-			return true;
-		} else {
-			LOG.info("Element is invisible");
-			return false;
-		}
+		return isElementUndisplayed(driver, LocatorCache.getLocator(locatorType), new String[0]);
 	}
 
 	protected boolean isElementUndisplayed(WebDriver driver, String locatorType, String... dynamicValues) {
-		overridingGlobalTimeout(driver, shortTimeout);
-		List<WebElement> listElement = getListWebElement(driver, getDynamicLocator(locatorType, dynamicValues));
-		overridingGlobalTimeout(driver, longTimeout);
+		return isElementUndisplayed(driver, LocatorCache.getLocator(locatorType), dynamicValues);
+	}
+
+	protected boolean isElementUndisplayed(WebDriver driver, Locator locator) {
+		return isElementUndisplayed(driver, locator, new String[0]);
+	}
+
+	private boolean isElementUndisplayed(WebDriver driver, Locator locator, String[] dynamicValues) {
+		long start = System.nanoTime();
+		List<ElementSnapshot> listElement = BulkElementReader.readNow(driver, locator, dynamicValues, EnumSet.of(ElementProperty.DISPLAYED), 1);
+		WaitStatistics.record("undisplayed " + locator.getTemplate(), System.nanoTime() - start, true);
 		if (listElement.size() == 0) {
-			LOG.info("Element is invisible and not in DOM");
+			LOG.debug("Element {} is invisible and not in DOM", locator);
 			return true;
-		} else if (listElement.size() > 0 && !listElement.get(0).isDisplayed()) {
-			LOG.info("Element is invisible and in DOM");
+		} else if (!listElement.get(0).isDisplayed()) {
+			LOG.debug("Element {} is invisible and in DOM", locator);
 			return true;
 		} else {
-			LOG.info("Element is visible");
+			LOG.debug("Element {} is visible", locator);
 			return false;
 		}
 	}
 
 	protected void waitForElementClickable(WebDriver driver, String locatorType) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.elementToBeClickable(getByLocator(locatorType)));
+		waitForAllConditions(driver, WaitCondition.clickable(locatorType));
 	}
 
 	protected void waitForElementClickable(WebDriver driver, String locatorType, String... dynamicValues) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.elementToBeClickable(getByLocator(getDynamicLocator(locatorType, dynamicValues))));
+		waitForAllConditions(driver, WaitCondition.clickable(locatorType, dynamicValues));
+	}
+
+	protected void waitForElementClickable(WebDriver driver, Locator locator) {
+		waitForAllConditions(driver, WaitCondition.clickable(locator));
 	}
 
 	protected void waitForElementVisible(WebDriver driver, String locatorType) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.visibilityOfElementLocated(getByLocator(locatorType)));
+		waitForAllConditions(driver, WaitCondition.visible(locatorType));
 	}
 
 	protected void waitForElementVisible(WebDriver driver, String locatorType, String... dynamicValues) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.visibilityOfElementLocated(getByLocator(getDynamicLocator(locatorType, dynamicValues))));
+		waitForAllConditions(driver, WaitCondition.visible(locatorType, dynamicValues));
+	}
+
+	protected void waitForElementVisible(WebDriver driver, Locator locator) {
+		waitForAllConditions(driver, WaitCondition.visible(locator));
 	}
 
 	protected void waitForAllElementVisible(WebDriver driver, String locatorType) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(getByLocator(locatorType)));
+		waitForAllConditions(driver, WaitCondition.allVisible(locatorType));
 	}
 
 	protected void waitForAllElementVisible(WebDriver driver, String locatorType, String... dynamicValues) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(getByLocator(getDynamicLocator(locatorType, dynamicValues))));
+		waitForAllConditions(driver, WaitCondition.allVisible(locatorType, dynamicValues));
 	}
 
 	protected void waitForElementInvisible(WebDriver driver, String locatorType) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.invisibilityOfElementLocated(getByLocator(locatorType)));
+		waitForAllConditions(driver, WaitCondition.invisible(locatorType));
 	}
 
 	protected void waitForElementInvisible(WebDriver driver, String locatorType, String... dynamicValues) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.invisibilityOfElementLocated(getByLocator(getDynamicLocator(locatorType, dynamicValues))));
+		waitForAllConditions(driver, WaitCondition.invisible(locatorType, dynamicValues));
+	}
+
+	protected void waitForElementInvisible(WebDriver driver, Locator locator) {
+		waitForAllConditions(driver, WaitCondition.invisible(locator));
 	}
 
 	protected void waitForAllElementInvisible(WebDriver driver, String locatorType) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.invisibilityOfAllElements(getListWebElement(driver, locatorType)));
+		waitForAllConditions(driver, WaitCondition.allInvisible(locatorType));
 	}
 
 	protected void waitForAllElementInvisible(WebDriver driver, String locatorType, String... dynamicValues) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, Duration.ofSeconds(longTimeout));
-		explicitWait.until(ExpectedConditions.invisibilityOfAllElements(getListWebElement(driver, getDynamicLocator(locatorType, dynamicValues))));
+		waitForAllConditions(driver, WaitCondition.allInvisible(locatorType, dynamicValues));
 	}
-	
+
+	protected void waitForAllConditions(WebDriver driver, WaitCondition... conditions) {
+		new BrowserWait(driver, longTimeout).until(conditions);
+	}
+
 }
@@ -0,0 +1,101 @@
+package com.inf.commons;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Browser launch presets, selected with -DBrowserProfile or a suffix on the browser name such as
+ * -DBrowser=chrome:fast. FULL is the headed browser with default settings; the other profiles run headless
+ * with a fixed viewport, and FAST and FASTEST also skip images, extensions and background throttling and
+ * return from navigation earlier.
+ */
+public enum BrowserProfile {
+	FULL(false, false, PageLoadStrategy.NORMAL),
+	HEADLESS(true, false, PageLoadStrategy.NORMAL),
+	FAST(true, true, PageLoadStrategy.EAGER),
+	FASTEST(true, true, PageLoadStrategy.NONE);
+
+	public static final int VIEWPORT_WIDTH = 1920;
+	public static final int VIEWPORT_HEIGHT = 1080;
+
+	private final boolean headless;
+	private final boolean lean;
+	private final PageLoadStrategy pageLoadStrategy;
+
+	BrowserProfile(boolean headless, boolean lean, PageLoadStrategy pageLoadStrategy) {
+		this.headless = headless;
+		this.lean = lean;
+		this.pageLoadStrategy = pageLoadStrategy;
+	}
+
+	public static BrowserProfile fromProperties() {
+		String browser = PropertyUtils.getValue("Browser", "");
+		String suffix = browser.contains(":") ? browser.substring(browser.indexOf(':') + 1) : FULL.name();
+		String name = PropertyUtils.getValue("BrowserProfile", suffix);
+		try {
+			return valueOf(name.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("BrowserProfile must be one of " + Arrays.toString(values()) + " but was: " + name, e);
+		}
+	}
+
+	public boolean isMaximized() {
+		return !headless;
+	}
+
+	public ChromeOptions chromeOptions() {
+		return applyChromium(new ChromeOptions());
+	}
+
+	public EdgeOptions edgeOptions() {
+		return applyChromium(new EdgeOptions());
+	}
+
+	public FirefoxOptions firefoxOptions() {
+		FirefoxOptions options = new FirefoxOptions();
+		options.setPageLoadStrategy(pageLoadStrategy);
+		if (headless) {
+			options.setHeadless(true);
+			options.addArguments("-width=" + VIEWPORT_WIDTH, "-height=" + VIEWPORT_HEIGHT);
+		}
+		if (lean) {
+			options.addPreference("permissions.default.image", 2);
+			options.addPreference("dom.min_background_timeout_value", 0);
+			options.addPreference("extensions.autoDisableScopes", 15);
+		}
+		return options;
+	}
+
+	public String describe() {
+		return name() + " (headless=" + headless + ", lean=" + lean + ", pageLoadStrategy=" + pageLoadStrategy + ")";
+	}
+
+	private <T extends ChromiumOptions<?>> T applyChromium(T options) {
+		options.setPageLoadStrategy(pageLoadStrategy);
+		// Keeps the console messages for failure captures
+		LoggingPreferences logging = new LoggingPreferences();
+		logging.enable(LogType.BROWSER, Level.ALL);
+		options.setCapability("goog:loggingPrefs", logging);
+		if (headless) {
+			options.addArguments("--headless", "--window-size=" + VIEWPORT_WIDTH + "," + VIEWPORT_HEIGHT);
+		}
+		if (lean) {
+			options.addArguments("--disable-extensions", "--disable-background-timer-throttling", "--disable-backgrounding-occluded-windows",
+					"--disable-renderer-backgrounding", "--blink-settings=imagesEnabled=false");
+			options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+		}
+		return options;
+	}
+}
@@ -0,0 +1,162 @@
+package com.inf.commons;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Waits for {@link WaitCondition}s. With -DWaitBackend=observer the conditions are checked inside the page by a
+ * MutationObserver plus a short animation-frame tick, in one executeAsyncScript call. Otherwise, or when the
+ * script can not run (no JavaScript, page navigated away), {@link PollingWait} polls the matching ExpectedConditions.
+ */
+public final class BrowserWait {
+	private static final Logger LOG = LogManager.getLogger(BrowserWait.class.getName());
+	private static final boolean OBSERVER_BACKEND = "observer".equalsIgnoreCase(PropertyUtils.getValue("WaitBackend", "polling"));
+
+	private static final String WAIT_SCRIPT = "var callback = arguments[arguments.length - 1];"
+			+ "var conditions = arguments[0], timeout = arguments[1];"
+			+ "var findAll = " + ElementScripts.FIND_ALL + ";"
+			+ "var isDisplayed = " + ElementScripts.IS_DISPLAYED_REFERENCE + ";"
+			+ "var isEnabled = function(element) { return !(element.matches && element.matches(':disabled')); };"
+			+ "var holds = function(condition) {"
+			+ "  var elements = findAll(condition.strategy, condition.expression), i;"
+			+ "  switch (condition.type) {"
+			+ "  case 'PRESENT': return elements.length > 0;"
+			+ "  case 'VISIBLE': return elements.length > 0 && !!isDisplayed(elements[0]);"
+			+ "  case 'CLICKABLE': return elements.length > 0 && !!isDisplayed(elements[0]) && isEnabled(elements[0]);"
+			+ "  case 'INVISIBLE': return elements.length === 0 || !isDisplayed(elements[0]);"
+			+ "  case 'ALL_VISIBLE':"
+			+ "    if (elements.length === 0) { return false; }"
+			+ "    for (i = 0; i < elements.length; i++) { if (!isDisplayed(elements[i])) { return false; } }"
+			+ "    return true;"
+			+ "  default:"
+			+ "    for (i = 0; i < elements.length; i++) { if (isDisplayed(elements[i])) { return false; } }"
+			+ "    return true;"
+			+ "  }"
+			+ "};"
+			+ "var allHold = function() {"
+			+ "  for (var i = 0; i < conditions.length; i++) { if (!holds(conditions[i])) { return false; } }"
+			+ "  return true;"
+			+ "};"
+			+ "var done = false, scheduled = false, observer = null, ticker = null, timer = null;"
+			+ "var finish = function(result) {"
+			+ "  if (done) { return; }"
+			+ "  done = true;"
+			+ "  if (observer) { observer.disconnect(); }"
+			+ "  clearInterval(ticker);"
+			+ "  clearTimeout(timer);"
+			+ "  callback(result);"
+			+ "};"
+			+ "var check = function() {"
+			+ "  scheduled = false;"
+			+ "  try { if (allHold()) { finish(true); } } catch (e) { finish('error: ' + e.message); }"
+			+ "};"
+			+ "var schedule = function() {"
+			+ "  if (scheduled || done) { return; }"
+			+ "  scheduled = true;"
+			+ "  if (window.requestAnimationFrame) { window.requestAnimationFrame(check); } else { setTimeout(check, 16); }"
+			+ "};"
+			+ "var needsDisplayed = false;"
+			+ "for (var i = 0; i < conditions.length; i++) { needsDisplayed = needsDisplayed || conditions[i].type !== 'PRESENT'; }"
+			+ "if (needsDisplayed && typeof isDisplayed !== 'function') { finish('" + ElementScripts.IS_DISPLAYED_MISSING + "'); } else { check(); }"
+			+ "if (!done) {"
+			+ "  observer = new MutationObserver(schedule);"
+			+ "  observer.observe(document, { attributes: true, childList: true, subtree: true, characterData: true });"
+			// Style changes from CSS transitions do not mutate the DOM, so re-check on a slow tick as well
+			+ "  ticker = setInterval(schedule, 250);"
+			+ "  timer = setTimeout(function() { finish(false); }, timeout);"
+			+ "}";
+
+	private final WebDriver driver;
+	private final long timeoutSeconds;
+
+	public BrowserWait(WebDriver driver, long timeoutSeconds) {
+		this.driver = driver;
+		this.timeoutSeconds = timeoutSeconds;
+	}
+
+	public static boolean isObserverBackend() {
+		return OBSERVER_BACKEND;
+	}
+
+	public void until(WaitCondition... conditions) {
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		if (OBSERVER_BACKEND && driver instanceof JavascriptExecutor && untilInBrowser(conditions, start)) {
+			return;
+		}
+		long remainingMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+		new PollingWait(driver, Duration.ofMillis(remainingMillis)).until(describe(conditions), toStatisticsKey(conditions), toExpectedCondition(conditions));
+	}
+
+	private boolean untilInBrowser(WaitCondition[] conditions, long start) {
+		List<Map<String, Object>> arguments = new ArrayList<>();
+		for (WaitCondition condition : conditions) {
+			arguments.add(condition.toScriptArgument());
+		}
+		String statisticsKey = "observer " + toStatisticsKey(conditions);
+		Object result;
+		try {
+			result = ElementScripts.executeAsyncScript((JavascriptExecutor) driver, WAIT_SCRIPT, arguments, TimeUnit.SECONDS.toMillis(timeoutSeconds));
+		} catch (ScriptTimeoutException | JavascriptException | UnsupportedCommandException e) {
+			LOG.debug("In-page wait failed, falling back to polling: {}", e.getMessage());
+			return false;
+		}
+		if (Boolean.TRUE.equals(result)) {
+			WaitStatistics.record(statisticsKey, System.nanoTime() - start, true);
+			return true;
+		}
+		if (Boolean.FALSE.equals(result)) {
+			WaitStatistics.record(statisticsKey, System.nanoTime() - start, false);
+			throw new TimeoutException("Expected condition failed: " + describe(conditions) + " (tried for " + timeoutSeconds + " second(s) in the browser)");
+		}
+		LOG.debug("In-page wait returned {}, falling back to polling", result);
+		return false;
+	}
+
+	private static Function<WebDriver, ?> toExpectedCondition(WaitCondition[] conditions) {
+		if (conditions.length == 1) {
+			return conditions[0].toExpectedCondition();
+		}
+		List<Function<WebDriver, ?>> expectedConditions = new ArrayList<>();
+		for (WaitCondition condition : conditions) {
+			expectedConditions.add(condition.toExpectedCondition());
+		}
+		return currentDriver -> {
+			for (Function<WebDriver, ?> expectedCondition : expectedConditions) {
+				Object value = expectedCondition.apply(currentDriver);
+				if (value == null || Boolean.FALSE.equals(value)) {
+					return false;
+				}
+			}
+			return true;
+		};
+	}
+
+	private static String describe(WaitCondition[] conditions) {
+		return conditions.length == 1 ? conditions[0].toString() : Arrays.toString(conditions);
+	}
+
+	private static String toStatisticsKey(WaitCondition[] conditions) {
+		List<String> keys = new ArrayList<>();
+		for (WaitCondition condition : conditions) {
+			keys.add(condition.toStatisticsKey());
+		}
+		return keys.size() == 1 ? keys.get(0) : keys.toString();
+	}
+}
@@ -0,0 +1,186 @@
+package com.inf.commons;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Reads text, DOM attributes and state of every element matching a locator in one executeScript call.
+ * Text is the rendered innerText and attributes are DOM attributes, so values can differ slightly from
+ * WebElement.getText/getAttribute. When nothing matches yet, or the driver can not run scripts, the
+ * per-element WebDriver calls are used so the implicit wait still applies. With -DZeroImplicitWait=true
+ * the script is polled by {@link PollingWait} instead.
+ */
+public final class BulkElementReader {
+	private static final String READ_SCRIPT = "var findAll = " + ElementScripts.FIND_ALL + ";"
+			+ "var isDisplayed = " + ElementScripts.IS_DISPLAYED_REFERENCE + ";"
+			+ "var properties = arguments[2], attributes = arguments[3], rows = [];"
+			+ "if (properties.indexOf('DISPLAYED') >= 0 && typeof isDisplayed !== 'function') { return '" + ElementScripts.IS_DISPLAYED_MISSING + "'; }"
+			+ "var elements = findAll(arguments[0], arguments[1]);"
+			+ "var limit = arguments[4] > 0 ? Math.min(arguments[4], elements.length) : elements.length;"
+			+ "for (var i = 0; i < limit; i++) {"
+			+ "  var element = elements[i], row = {}, values = {};"
+			+ "  if (properties.indexOf('TEXT') >= 0) {"
+			+ "    row.TEXT = element.getClientRects().length ? (element.innerText || '').replace(/\\u00a0/g, ' ').trim() : '';"
+			+ "  }"
+			+ "  if (properties.indexOf('DISPLAYED') >= 0) { row.DISPLAYED = !!isDisplayed(element); }"
+			+ "  if (properties.indexOf('ENABLED') >= 0) { row.ENABLED = !(element.matches && element.matches(':disabled')); }"
+			+ "  if (properties.indexOf('SELECTED') >= 0) {"
+			+ "    row.SELECTED = element.tagName === 'OPTION' ? element.selected : (element.type === 'checkbox' || element.type === 'radio') ? element.checked : false;"
+			+ "  }"
+			+ "  for (var j = 0; j < attributes.length; j++) { values[attributes[j]] = element.getAttribute(attributes[j]); }"
+			+ "  row.ATTRIBUTES = values;"
+			+ "  rows.push(row);"
+			+ "}"
+			+ "return rows;";
+
+	private static final String COUNT_SCRIPT = "return (" + ElementScripts.FIND_ALL + ")(arguments[0], arguments[1]).length;";
+
+	private BulkElementReader() {
+	}
+
+	public static List<ElementSnapshot> read(WebDriver driver, Locator locator, String[] dynamicValues, Set<ElementProperty> properties, List<String> attributeNames) {
+		return read(driver, locator, dynamicValues, properties, attributeNames, 0, true);
+	}
+
+	public static ElementSnapshot readFirst(WebDriver driver, Locator locator, String[] dynamicValues, Set<ElementProperty> properties) {
+		List<ElementSnapshot> snapshots = read(driver, locator, dynamicValues, properties, Collections.emptyList(), 1, true);
+		if (snapshots.isEmpty()) {
+			throw new NoSuchElementException("Unable to locate element: " + toBy(locator, dynamicValues));
+		}
+		return snapshots.get(0);
+	}
+
+	public static List<ElementSnapshot> readNow(WebDriver driver, Locator locator, String[] dynamicValues, Set<ElementProperty> properties, int limit) {
+		return read(driver, locator, dynamicValues, properties, Collections.emptyList(), limit, false);
+	}
+
+	private static List<ElementSnapshot> read(WebDriver driver, Locator locator, String[] dynamicValues, Set<ElementProperty> properties, List<String> attributeNames, int limit, boolean waitForPresence) {
+		List<ElementSnapshot> snapshots = readByScriptIfSupported(driver, locator, dynamicValues, properties, attributeNames, limit);
+		if (snapshots != null && (!snapshots.isEmpty() || !waitForPresence)) {
+			return snapshots;
+		}
+		if (snapshots != null && GlobalConstants.ZERO_IMPLICIT_WAIT) {
+			List<ElementSnapshot> found = new PollingWait(driver, GlobalConstants.LONG_TIMEOUT).untilOrNull("presence of " + toBy(locator, dynamicValues), "presence of " + locator.getTemplate(), currentDriver -> {
+				List<ElementSnapshot> current = readByScriptIfSupported(currentDriver, locator, dynamicValues, properties, attributeNames, limit);
+				return current == null || current.isEmpty() ? null : current;
+			});
+			return found == null ? snapshots : found;
+		}
+		if (waitForPresence || GlobalConstants.ZERO_IMPLICIT_WAIT) {
+			return readOneByOne(driver, toBy(locator, dynamicValues), properties, attributeNames, limit);
+		}
+		// Without scripts a read that must not wait still waits for the implicit wait, so it is shortened meanwhile
+		driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(GlobalConstants.SHORT_TIMEOUT));
+		try {
+			return readOneByOne(driver, toBy(locator, dynamicValues), properties, attributeNames, limit);
+		} finally {
+			driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(GlobalConstants.LONG_TIMEOUT));
+		}
+	}
+
+	public static int count(WebDriver driver, Locator locator, String... dynamicValues) {
+		Integer count = countByScriptIfSupported(driver, locator, dynamicValues);
+		if (count != null && count > 0) {
+			return count;
+		}
+		if (count != null && GlobalConstants.ZERO_IMPLICIT_WAIT) {
+			Integer found = new PollingWait(driver, GlobalConstants.LONG_TIMEOUT).untilOrNull("presence of " + toBy(locator, dynamicValues), "presence of " + locator.getTemplate(), currentDriver -> {
+				Integer current = countByScriptIfSupported(currentDriver, locator, dynamicValues);
+				return current == null || current == 0 ? null : current;
+			});
+			return found == null ? 0 : found;
+		}
+		return driver.findElements(toBy(locator, dynamicValues)).size();
+	}
+
+	private static Integer countByScriptIfSupported(WebDriver driver, Locator locator, String[] dynamicValues) {
+		if (!(driver instanceof JavascriptExecutor)) {
+			return null;
+		}
+		try {
+			Object result = ((JavascriptExecutor) driver).executeScript(COUNT_SCRIPT, locator.getStrategy().name(), toExpression(locator, dynamicValues));
+			return ((Number) result).intValue();
+		} catch (JavascriptException | UnsupportedCommandException e) {
+			return null;
+		}
+	}
+
+	private static List<ElementSnapshot> readByScriptIfSupported(WebDriver driver, Locator locator, String[] dynamicValues, Set<ElementProperty> properties, List<String> attributeNames, int limit) {
+		if (!(driver instanceof JavascriptExecutor)) {
+			return null;
+		}
+		try {
+			return readByScript((JavascriptExecutor) driver, locator, dynamicValues, properties, attributeNames, limit);
+		} catch (JavascriptException | UnsupportedCommandException e) {
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<ElementSnapshot> readByScript(JavascriptExecutor jsExecutor, Locator locator, String[] dynamicValues, Set<ElementProperty> properties, List<String> attributeNames, int limit) {
+		List<String> propertyNames = new ArrayList<>();
+		for (ElementProperty property : properties) {
+			propertyNames.add(property.name());
+		}
+		Object result = ElementScripts.executeScript(jsExecutor, READ_SCRIPT, locator.getStrategy().name(), toExpression(locator, dynamicValues), propertyNames, attributeNames, limit);
+		if (!(result instanceof List)) {
+			return Collections.emptyList();
+		}
+		List<ElementSnapshot> snapshots = new ArrayList<>();
+		for (Object item : (List<Object>) result) {
+			Map<String, Object> row = (Map<String, Object>) item;
+			Map<String, String> attributes = new HashMap<>();
+			Map<String, Object> values = (Map<String, Object>) row.get("ATTRIBUTES");
+			for (String attributeName : attributeNames) {
+				Object value = values == null ? null : values.get(attributeName);
+				attributes.put(attributeName, value == null ? null : String.valueOf(value));
+			}
+			snapshots.add(new ElementSnapshot((String) row.get("TEXT"), (Boolean) row.get("DISPLAYED"), (Boolean) row.get("ENABLED"), (Boolean) row.get("SELECTED"), attributes));
+		}
+		return snapshots;
+	}
+
+	private static List<ElementSnapshot> readOneByOne(WebDriver driver, By by, Set<ElementProperty> properties, List<String> attributeNames, int limit) {
+		List<ElementSnapshot> snapshots = new ArrayList<>();
+		List<WebElement> elements = limit > 0 ? firstElements(driver, by, limit) : driver.findElements(by);
+		for (WebElement element : elements) {
+			Map<String, String> attributes = new HashMap<>();
+			for (String attributeName : attributeNames) {
+				attributes.put(attributeName, element.getAttribute(attributeName));
+			}
+			snapshots.add(new ElementSnapshot(
+					properties.contains(ElementProperty.TEXT) ? element.getText() : null,
+					properties.contains(ElementProperty.DISPLAYED) ? element.isDisplayed() : null,
+					properties.contains(ElementProperty.ENABLED) ? element.isEnabled() : null,
+					properties.contains(ElementProperty.SELECTED) ? element.isSelected() : null,
+					attributes));
+		}
+		return snapshots;
+	}
+
+	private static List<WebElement> firstElements(WebDriver driver, By by, int limit) {
+		List<WebElement> elements = driver.findElements(by);
+		return elements.size() > limit ? elements.subList(0, limit) : elements;
+	}
+
+	private static String toExpression(Locator locator, String[] dynamicValues) {
+		return dynamicValues.length == 0 ? locator.getExpression() : locator.getExpression(dynamicValues);
+	}
+
+	private static By toBy(Locator locator, String[] dynamicValues) {
+		return dynamicValues.length == 0 ? locator.toBy() : locator.toBy(dynamicValues);
+	}
+}
@@ -0,0 +1,172 @@
+package com.inf.commons;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+public final class CachedWebElement implements WebElement, WrapsElement {
+	private final ElementCache elementCache;
+	private final By by;
+	private volatile WebElement element;
+
+	CachedWebElement(ElementCache elementCache, By by, WebElement element) {
+		this.elementCache = elementCache;
+		this.by = by;
+		this.element = element;
+	}
+
+	@Override
+	public WebElement getWrappedElement() {
+		return element;
+	}
+
+	public WebElement refresh() {
+		try {
+			element = elementCache.find(by);
+			return element;
+		} catch (RuntimeException e) {
+			elementCache.remove(by);
+			throw e;
+		}
+	}
+
+	private <T> T call(Function<WebElement, T> action) {
+		try {
+			return action.apply(element);
+		} catch (StaleElementReferenceException e) {
+			return action.apply(refresh());
+		}
+	}
+
+	private void run(Consumer<WebElement> action) {
+		call(target -> {
+			action.accept(target);
+			return null;
+		});
+	}
+
+	@Override
+	public void click() {
+		run(WebElement::click);
+	}
+
+	@Override
+	public void submit() {
+		run(WebElement::submit);
+	}
+
+	@Override
+	public void sendKeys(CharSequence... keysToSend) {
+		run(target -> target.sendKeys(keysToSend));
+	}
+
+	@Override
+	public void clear() {
+		run(WebElement::clear);
+	}
+
+	@Override
+	public String getTagName() {
+		return call(WebElement::getTagName);
+	}
+
+	@Override
+	public String getDomProperty(String name) {
+		return call(target -> target.getDomProperty(name));
+	}
+
+	@Override
+	public String getDomAttribute(String name) {
+		return call(target -> target.getDomAttribute(name));
+	}
+
+	@Override
+	public String getAttribute(String name) {
+		return call(target -> target.getAttribute(name));
+	}
+
+	@Override
+	public String getAriaRole() {
+		return call(WebElement::getAriaRole);
+	}
+
+	@Override
+	public String getAccessibleName() {
+		return call(WebElement::getAccessibleName);
+	}
+
+	@Override
+	public boolean isSelected() {
+		return call(WebElement::isSelected);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return call(WebElement::isEnabled);
+	}
+
+	@Override
+	public String getText() {
+		return call(WebElement::getText);
+	}
+
+	@Override
+	public List<WebElement> findElements(By childBy) {
+		return call(target -> target.findElements(childBy));
+	}
+
+	@Override
+	public WebElement findElement(By childBy) {
+		return call(target -> target.findElement(childBy));
+	}
+
+	@Override
+	public SearchContext getShadowRoot() {
+		return call(WebElement::getShadowRoot);
+	}
+
+	@Override
+	public boolean isDisplayed() {
+		return call(WebElement::isDisplayed);
+	}
+
+	@Override
+	public Point getLocation() {
+		return call(WebElement::getLocation);
+	}
+
+	@Override
+	public Dimension getSize() {
+		return call(WebElement::getSize);
+	}
+
+	@Override
+	public Rectangle getRect() {
+		return call(WebElement::getRect);
+	}
+
+	@Override
+	public String getCssValue(String propertyName) {
+		return call(target -> target.getCssValue(propertyName));
+	}
+
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) {
+		return call(current -> current.getScreenshotAs(target));
+	}
+
+	@Override
+	public String toString() {
+		return "CachedWebElement{" + by + "}";
+	}
+}
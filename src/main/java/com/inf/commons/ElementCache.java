@@ -0,0 +1,77 @@
+package com.inf.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Opt-in cache of element handles per driver, enabled with -DElementCache=true or {@link #enable(WebDriver)}.
+ * A cached handle keeps pointing at the element found first, so it is cleared on every navigation and
+ * frame or window switch, and re-found transparently when the browser reports it as stale.
+ */
+public final class ElementCache {
+	private static final boolean ENABLED_BY_DEFAULT = PropertyUtils.getBoolean("ElementCache", false);
+	private static final Map<WebDriver, ElementCache> CACHES = new ConcurrentHashMap<>();
+
+	private final WebDriver driver;
+	private final Map<By, CachedWebElement> elements = new ConcurrentHashMap<>();
+	private volatile boolean enabled = true;
+
+	private ElementCache(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	public static ElementCache getCache(WebDriver driver) {
+		ElementCache elementCache = CACHES.get(driver);
+		if (elementCache == null && ENABLED_BY_DEFAULT) {
+			elementCache = CACHES.computeIfAbsent(driver, ElementCache::new);
+		}
+		return elementCache != null && elementCache.enabled ? elementCache : null;
+	}
+
+	public static void enable(WebDriver driver) {
+		CACHES.computeIfAbsent(driver, ElementCache::new).enabled = true;
+	}
+
+	public static void disable(WebDriver driver) {
+		ElementCache elementCache = CACHES.computeIfAbsent(driver, ElementCache::new);
+		elementCache.enabled = false;
+		elementCache.elements.clear();
+	}
+
+	public static void invalidate(WebDriver driver) {
+		ElementCache elementCache = CACHES.get(driver);
+		if (elementCache != null) {
+			elementCache.elements.clear();
+		}
+	}
+
+	public static void release(WebDriver driver) {
+		CACHES.remove(driver);
+	}
+
+	public WebElement getElement(By by) {
+		CachedWebElement element = elements.get(by);
+		if (element == null) {
+			element = new CachedWebElement(this, by, find(by));
+			elements.put(by, element);
+		}
+		return element;
+	}
+
+	WebElement find(By by) {
+		if (GlobalConstants.ZERO_IMPLICIT_WAIT) {
+			return new PollingWait(driver, GlobalConstants.LONG_TIMEOUT).until("presence of " + by, "presence of " + Locator.templateOf(by), currentDriver -> currentDriver.findElement(by));
+		}
+		return driver.findElement(by);
+	}
+
+	void remove(By by) {
+		elements.remove(by);
+	}
+}
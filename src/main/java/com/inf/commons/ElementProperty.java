@@ -0,0 +1,5 @@
+package com.inf.commons;
+
+public enum ElementProperty {
+	TEXT, DISPLAYED, ENABLED, SELECTED
+}
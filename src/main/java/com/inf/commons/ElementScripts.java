@@ -0,0 +1,76 @@
+package com.inf.commons;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.openqa.selenium.JavascriptExecutor;
+
+final class ElementScripts {
+	static final String FIND_ALL = "function(strategy, expression) {"
+			+ "  var quote = function(value) { return '\"' + value.replace(/([\"\\\\])/g, '\\\\$1') + '\"'; };"
+			+ "  switch (strategy) {"
+			+ "  case 'XPATH':"
+			+ "    var result = document.evaluate(expression, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+			+ "    var nodes = [];"
+			+ "    for (var i = 0; i < result.snapshotLength; i++) {"
+			+ "      if (result.snapshotItem(i).nodeType === 1) { nodes.push(result.snapshotItem(i)); }"
+			+ "    }"
+			+ "    return nodes;"
+			+ "  case 'CSS': return Array.prototype.slice.call(document.querySelectorAll(expression));"
+			+ "  case 'ID': return Array.prototype.slice.call(document.querySelectorAll('[id=' + quote(expression) + ']'));"
+			+ "  case 'NAME': return Array.prototype.slice.call(document.querySelectorAll('[name=' + quote(expression) + ']'));"
+			+ "  default: return Array.prototype.slice.call(document.getElementsByClassName(expression));"
+			+ "  }"
+			+ "}";
+
+	// Used only when the Selenium atom is missing from the classpath
+	private static final String FALLBACK_IS_DISPLAYED = "function(element) {"
+			+ "  var style = window.getComputedStyle(element);"
+			+ "  return style.display !== 'none' && style.visibility !== 'hidden' && style.visibility !== 'collapse'"
+			+ "    && parseFloat(style.opacity) !== 0 && element.getClientRects().length > 0;"
+			+ "}";
+
+	private static final String IS_DISPLAYED = loadAtom("/org/openqa/selenium/remote/isDisplayed.js", FALLBACK_IS_DISPLAYED);
+
+	/**
+	 * The isDisplayed atom is about 44 KB, so it is sent once per document and kept on window. A script reads it
+	 * with this expression and, when it needs it and finds it missing (new page, or not installed yet), returns
+	 * {@link #IS_DISPLAYED_MISSING}; it is then run again behind {@link #INSTALL_IS_DISPLAYED}.
+	 */
+	static final String IS_DISPLAYED_REFERENCE = "window.__infIsDisplayed";
+	static final String IS_DISPLAYED_MISSING = "isDisplayed missing";
+	static final String INSTALL_IS_DISPLAYED = IS_DISPLAYED_REFERENCE + " = " + IS_DISPLAYED + ";";
+
+	private ElementScripts() {
+	}
+
+	/** Runs a script that reads {@link #IS_DISPLAYED_REFERENCE}, installing the atom first if the page lacks it. */
+	static Object executeScript(JavascriptExecutor jsExecutor, String script, Object... arguments) {
+		Object result = jsExecutor.executeScript(script, arguments);
+		if (IS_DISPLAYED_MISSING.equals(result)) {
+			result = jsExecutor.executeScript(INSTALL_IS_DISPLAYED + script, arguments);
+		}
+		return result;
+	}
+
+	/** Same as {@link #executeScript} for a script whose callback receives {@link #IS_DISPLAYED_MISSING}. */
+	static Object executeAsyncScript(JavascriptExecutor jsExecutor, String script, Object... arguments) {
+		Object result = jsExecutor.executeAsyncScript(script, arguments);
+		if (IS_DISPLAYED_MISSING.equals(result)) {
+			result = jsExecutor.executeAsyncScript(INSTALL_IS_DISPLAYED + script, arguments);
+		}
+		return result;
+	}
+
+	private static String loadAtom(String resource, String fallback) {
+		try (InputStream stream = ElementScripts.class.getResourceAsStream(resource)) {
+			if (stream == null) {
+				return fallback;
+			}
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return fallback;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.inf.commons;
+
+import java.util.Collections;
+import java.util.Map;
+
+public final class ElementSnapshot {
+	private final String text;
+	private final Boolean displayed;
+	private final Boolean enabled;
+	private final Boolean selected;
+	private final Map<String, String> attributes;
+
+	ElementSnapshot(String text, Boolean displayed, Boolean enabled, Boolean selected, Map<String, String> attributes) {
+		this.text = text;
+		this.displayed = displayed;
+		this.enabled = enabled;
+		this.selected = selected;
+		this.attributes = Collections.unmodifiableMap(attributes);
+	}
+
+	public String getText() {
+		return require(text, ElementProperty.TEXT);
+	}
+
+	public boolean isDisplayed() {
+		return require(displayed, ElementProperty.DISPLAYED);
+	}
+
+	public boolean isEnabled() {
+		return require(enabled, ElementProperty.ENABLED);
+	}
+
+	public boolean isSelected() {
+		return require(selected, ElementProperty.SELECTED);
+	}
+
+	public String getAttribute(String attributeName) {
+		if (!attributes.containsKey(attributeName)) {
+			throw new IllegalStateException("Attribute " + attributeName + " was not read for this element");
+		}
+		return attributes.get(attributeName);
+	}
+
+	public Map<String, String> getAttributes() {
+		return attributes;
+	}
+
+	private static <T> T require(T value, ElementProperty property) {
+		if (value == null) {
+			throw new IllegalStateException("Property " + property + " was not read for this element");
+		}
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return "ElementSnapshot{text=" + text + ", displayed=" + displayed + ", enabled=" + enabled + ", selected=" + selected + ", attributes=" + attributes + "}";
+	}
+}
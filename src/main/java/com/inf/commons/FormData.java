@@ -0,0 +1,68 @@
+package com.inf.commons;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered field values for {@link BasePage#fillForm(org.openqa.selenium.WebDriver, FormData)}. Values are the
+ * text of text inputs and textareas, the visible text (or value) of a select option, "true" or "false" for a
+ * checkbox, and "true" or the value of the option to pick for radios. Fields added with {@link #type} get real
+ * key events through WebDriver instead of the scripted pass, for widgets that listen to keystrokes.
+ */
+public final class FormData {
+	private final List<Field> fields = new ArrayList<>();
+
+	static final class Field {
+		final Locator locator;
+		final String value;
+		final boolean nativeTyping;
+
+		Field(Locator locator, String value, boolean nativeTyping) {
+			this.locator = locator;
+			this.value = value == null ? "" : value;
+			this.nativeTyping = nativeTyping;
+		}
+	}
+
+	public static FormData of(Map<String, String> values) {
+		FormData form = new FormData();
+		values.forEach(form::set);
+		return form;
+	}
+
+	public FormData set(String locatorType, String value) {
+		return set(LocatorCache.getLocator(locatorType), value);
+	}
+
+	public FormData set(Locator locator, String value) {
+		fields.add(new Field(locator, value, false));
+		return this;
+	}
+
+	public FormData check(String locatorType, boolean checked) {
+		return set(locatorType, String.valueOf(checked));
+	}
+
+	public FormData check(Locator locator, boolean checked) {
+		return set(locator, String.valueOf(checked));
+	}
+
+	public FormData type(String locatorType, String value) {
+		return type(LocatorCache.getLocator(locatorType), value);
+	}
+
+	public FormData type(Locator locator, String value) {
+		fields.add(new Field(locator, value, true));
+		return this;
+	}
+
+	public int size() {
+		return fields.size();
+	}
+
+	List<Field> getFields() {
+		return Collections.unmodifiableList(fields);
+	}
+}
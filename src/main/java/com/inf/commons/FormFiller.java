@@ -0,0 +1,106 @@
+package com.inf.commons;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Fills runs of form fields in one executeScript call each, firing the events a user's input would: focus and
+ * focusin, input, change, blur and focusout for text and selects, and a real click for checkboxes and radios.
+ * The focus events are dispatched like the others, since element.focus() fires none while the browser window
+ * is not focused, as with several browsers side by side. Text is set through
+ * the native value setter so frameworks that track it still see the change. The scripted pass stops at the
+ * first field it can not fill the way WebDriver would (missing, hidden, disabled, read-only, a file input, an
+ * unknown option); that field goes through WebDriver, with its waits and exceptions, and the next run starts
+ * after it. Fields that need key events always go through WebDriver, so the order of the form is kept.
+ */
+final class FormFiller {
+	private static final String FILL_SCRIPT = "var findAll = " + ElementScripts.FIND_ALL + ";"
+			+ "var isDisplayed = " + ElementScripts.IS_DISPLAYED_REFERENCE + ";"
+			+ "if (typeof isDisplayed !== 'function') { return '" + ElementScripts.IS_DISPLAYED_MISSING + "'; }"
+			+ "var fire = function(element, type) { element.dispatchEvent(new Event(type, { bubbles: true })); };"
+			+ "var focus = function(element) {"
+			+ "  element.dispatchEvent(new FocusEvent('focus')); element.dispatchEvent(new FocusEvent('focusin', { bubbles: true }));"
+			+ "};"
+			+ "var blur = function(element) {"
+			+ "  element.dispatchEvent(new FocusEvent('blur')); element.dispatchEvent(new FocusEvent('focusout', { bubbles: true }));"
+			+ "};"
+			+ "var fields = arguments[0];"
+			+ "for (var i = 0; i < fields.length; i++) {"
+			+ "  var elements = findAll(fields[i][0], fields[i][1]), value = fields[i][2];"
+			+ "  if (!elements.length) { return i; }"
+			+ "  var element = elements[0], tag = element.tagName, type = (element.type || '').toLowerCase();"
+			+ "  if (element.disabled || !isDisplayed(element)) { return i; }"
+			+ "  if (tag === 'SELECT') {"
+			+ "    var option = null;"
+			+ "    for (var j = 0; j < element.options.length && !option; j++) {"
+			+ "      if (element.options[j].text.replace(/\\s+/g, ' ').trim() === value) { option = element.options[j]; }"
+			+ "    }"
+			+ "    for (j = 0; j < element.options.length && !option; j++) {"
+			+ "      if (element.options[j].value === value) { option = element.options[j]; }"
+			+ "    }"
+			+ "    if (!option || option.disabled) { return i; }"
+			+ "    if (!option.selected) { focus(element); option.selected = true; fire(element, 'input'); fire(element, 'change'); blur(element); }"
+			+ "  } else if (type === 'checkbox' || type === 'radio') {"
+			+ "    var target = element;"
+			+ "    if (type === 'radio' && value !== 'true') {"
+			+ "      target = null;"
+			+ "      for (j = 0; j < elements.length && !target; j++) { if (elements[j].value === value) { target = elements[j]; } }"
+			+ "      if (!target || target.disabled || !isDisplayed(target)) { return i; }"
+			+ "    }"
+			+ "    if (target.checked !== (type === 'radio' || value === 'true')) { target.click(); }"
+			+ "  } else if ((tag === 'INPUT' && type !== 'file') || tag === 'TEXTAREA') {"
+			+ "    if (element.readOnly) { return i; }"
+			+ "    var prototype = tag === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+			+ "    focus(element);"
+			+ "    Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, value);"
+			+ "    fire(element, 'input'); fire(element, 'change');"
+			+ "    blur(element);"
+			+ "  } else {"
+			+ "    return i;"
+			+ "  }"
+			+ "}"
+			+ "return fields.length;";
+
+	private FormFiller() {
+	}
+
+	static void fill(WebDriver driver, FormData form, Consumer<FormData.Field> fillNatively) {
+		List<FormData.Field> fields = form.getFields();
+		int next = 0;
+		while (next < fields.size()) {
+			int end = next;
+			while (end < fields.size() && !fields.get(end).nativeTyping) {
+				end++;
+			}
+			next += fillByScriptIfSupported(driver, fields.subList(next, end));
+			if (next < fields.size()) {
+				fillNatively.accept(fields.get(next));
+				next++;
+			}
+		}
+	}
+
+	/** Returns how many leading fields were filled; 0 when the driver can not run the script. */
+	private static int fillByScriptIfSupported(WebDriver driver, List<FormData.Field> fields) {
+		if (fields.isEmpty() || !(driver instanceof JavascriptExecutor)) {
+			return 0;
+		}
+		List<List<String>> arguments = new ArrayList<>();
+		for (FormData.Field field : fields) {
+			arguments.add(Arrays.asList(field.locator.getStrategy().name(), field.locator.getExpression(), field.value));
+		}
+		try {
+			Object filled = ElementScripts.executeScript((JavascriptExecutor) driver, FILL_SCRIPT, arguments);
+			return ((Number) filled).intValue();
+		} catch (JavascriptException | UnsupportedCommandException e) {
+			return 0;
+		}
+	}
+}
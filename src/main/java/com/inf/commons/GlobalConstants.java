@@ -1,7 +1,17 @@
 package com.inf.commons;
 
+import com.inf.utils.PropertyUtils;
+
 public class GlobalConstants {
 	public static final long LONG_TIMEOUT = 15;
 	public static final long SHORT_TIMEOUT = 5;
+	public static final long POOL_TIMEOUT = 300;
+	public static final long SCRIPT_TIMEOUT = 30;
+	public static final long POLLING_INTERVAL_MILLIS = 100;
+	public static final long MAX_POLLING_INTERVAL_MILLIS = 1000;
+	public static final double POLLING_BACKOFF = 1.5;
+	public static final long NETWORK_QUIET_MILLIS = 500;
+	public static final long NETWORK_REQUEST_MAX_MILLIS = 10000;
+	public static final boolean ZERO_IMPLICIT_WAIT = PropertyUtils.getBoolean("ZeroImplicitWait", false);
 	public static final String BANK_GURU_URL = "https://demo.guru99.com/V4/";
 }
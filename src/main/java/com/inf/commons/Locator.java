@@ -0,0 +1,239 @@
+package com.inf.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+public final class Locator {
+	private static final String PLACEHOLDER = "%s";
+
+	public enum Strategy {
+		XPATH("xpath="), CSS("css="), ID("id="), NAME("name="), CLASS("class=");
+
+		private final String prefix;
+
+		Strategy(String prefix) {
+			this.prefix = prefix;
+		}
+
+		public String getPrefix() {
+			return prefix;
+		}
+
+		By toBy(String expression) {
+			switch (this) {
+			case XPATH:
+				return By.xpath(expression);
+			case CSS:
+				return By.cssSelector(expression);
+			case ID:
+				return By.id(expression);
+			case NAME:
+				return By.name(expression);
+			default:
+				return By.className(expression);
+			}
+		}
+	}
+
+	private final Strategy strategy;
+	private final String expression;
+	private final String[] segments;
+	private final String template;
+	private final By by;
+
+	private Locator(Strategy strategy, String expression) {
+		this(strategy, expression, splitTemplate(expression));
+	}
+
+	private Locator(Strategy strategy, String expression, String[] segments) {
+		this.strategy = strategy;
+		this.expression = expression;
+		this.segments = segments;
+		this.template = strategy.getPrefix() + expression;
+		this.by = strategy.toBy(expression);
+	}
+
+	private Locator(Locator template, String bound) {
+		this.strategy = template.strategy;
+		this.expression = bound;
+		this.segments = new String[] { bound };
+		this.template = template.template;
+		this.by = new BoundBy(strategy.toBy(bound), this.template);
+	}
+
+	public static Locator of(Strategy strategy, String expression) {
+		return new Locator(strategy, expression);
+	}
+
+	/**
+	 * A locator whose template was already split at build time, around its "%s" placeholders and with "%%"
+	 * unescaped; used by the classes generated from the pageui constants.
+	 */
+	public static Locator precompiled(Strategy strategy, String expression, String... segments) {
+		return new Locator(strategy, expression, segments);
+	}
+
+	/** The locator with its placeholders filled in; the values are used literally. */
+	public Locator bind(String... dynamicValues) {
+		return new Locator(this, getExpression(dynamicValues));
+	}
+
+	public static Locator compile(String locatorType) {
+		int separator = locatorType.indexOf('=');
+		Strategy strategy = separator > 0 ? parseStrategy(locatorType.substring(0, separator)) : null;
+		// Keep supporting the legacy "XPATH//..." form without the equals sign
+		if (strategy == null && locatorType.startsWith("XPATH")) {
+			return new Locator(Strategy.XPATH, locatorType.substring(6));
+		}
+		if (strategy == null) {
+			throw new RuntimeException("This locator is invalid. Please check again the syntax!");
+		}
+		return new Locator(strategy, locatorType.substring(separator + 1));
+	}
+
+	private static Strategy parseStrategy(String prefix) {
+		switch (prefix.toLowerCase(Locale.ROOT)) {
+		case "xpath":
+			return Strategy.XPATH;
+		case "css":
+			return Strategy.CSS;
+		case "id":
+			return Strategy.ID;
+		case "name":
+			return Strategy.NAME;
+		case "class":
+			return Strategy.CLASS;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Splits around the "%s" placeholders and unescapes "%%". Any other '%' is rejected, as LocatorProcessor does
+	 * at build time, rather than left in the expression where String.format would have read it as a conversion.
+	 */
+	private static String[] splitTemplate(String expression) {
+		if (expression.indexOf('%') < 0) {
+			return new String[] { expression };
+		}
+		List<String> parts = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		for (int i = 0; i < expression.length(); i++) {
+			char c = expression.charAt(i);
+			if (c != '%') {
+				current.append(c);
+				continue;
+			}
+			char next = i + 1 < expression.length() ? expression.charAt(i + 1) : 0;
+			if (next == 's') {
+				parts.add(current.toString());
+				current.setLength(0);
+			} else if (next == '%') {
+				current.append('%');
+			} else {
+				throw new IllegalArgumentException("Locator " + expression + " has a '%' at index " + i + " that is neither a %s placeholder nor escaped as %%");
+			}
+			i++;
+		}
+		parts.add(current.toString());
+		return parts.toArray(new String[0]);
+	}
+
+	public Strategy getStrategy() {
+		return strategy;
+	}
+
+	public String getExpression() {
+		return expression;
+	}
+
+	/**
+	 * The locator as declared, before any values were bound. Statistics are keyed by it, since keys holding the
+	 * bound values would grow with every distinct value used.
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
+	/** The template of a By made by a locator, otherwise the By itself. */
+	public static String templateOf(By by) {
+		return by instanceof BoundBy ? ((BoundBy) by).template : String.valueOf(by);
+	}
+
+	public int getParameterCount() {
+		return segments.length - 1;
+	}
+
+	public By toBy() {
+		return by;
+	}
+
+	public By toBy(String... dynamicValues) {
+		return getParameterCount() == 0 ? by : new BoundBy(strategy.toBy(getExpression(dynamicValues)), template);
+	}
+
+	public String getExpression(String... dynamicValues) {
+		int parameterCount = getParameterCount();
+		if (dynamicValues.length < parameterCount) {
+			throw new IllegalArgumentException("Locator " + this + " needs " + parameterCount + " dynamic values but got " + dynamicValues.length);
+		}
+		if (parameterCount == 0) {
+			return segments[0];
+		}
+		int length = 0;
+		for (String segment : segments) {
+			length += segment.length();
+		}
+		StringBuilder builder = new StringBuilder(length + 16 * parameterCount);
+		builder.append(segments[0]);
+		for (int i = 1; i < segments.length; i++) {
+			builder.append(dynamicValues[i - 1]).append(segments[i]);
+		}
+		return builder.toString();
+	}
+
+	public String format(String... dynamicValues) {
+		return strategy.getPrefix() + getExpression(dynamicValues);
+	}
+
+	@Override
+	public String toString() {
+		return strategy.getPrefix() + expression;
+	}
+
+	/** A By with the values bound, which still knows its template; it behaves and prints as the plain By. */
+	private static final class BoundBy extends By implements By.Remotable {
+		private final By by;
+		private final String template;
+
+		private BoundBy(By by, String template) {
+			this.by = by;
+			this.template = template;
+		}
+
+		@Override
+		public WebElement findElement(SearchContext context) {
+			return by.findElement(context);
+		}
+
+		@Override
+		public List<WebElement> findElements(SearchContext context) {
+			return by.findElements(context);
+		}
+
+		@Override
+		public Parameters getRemoteParameters() {
+			return ((By.Remotable) by).getRemoteParameters();
+		}
+
+		@Override
+		public String toString() {
+			return by.toString();
+		}
+	}
+}
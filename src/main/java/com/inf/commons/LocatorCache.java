@@ -0,0 +1,64 @@
+package com.inf.commons;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.inf.utils.PropertyUtils;
+
+public final class LocatorCache {
+	private static final int MAX_SIZE = PropertyUtils.getInt("LocatorCacheSize", 2048);
+	private static final ConcurrentHashMap<String, Locator> CACHE = new ConcurrentHashMap<>();
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+
+	private LocatorCache() {
+	}
+
+	public static Locator getLocator(String locatorType) {
+		Locator locator = CACHE.get(locatorType);
+		if (locator != null) {
+			HITS.increment();
+			return locator;
+		}
+		MISSES.increment();
+		locator = Locator.compile(locatorType);
+		if (CACHE.size() >= MAX_SIZE) {
+			evictOne();
+		}
+		Locator existing = CACHE.putIfAbsent(locatorType, locator);
+		return existing == null ? locator : existing;
+	}
+
+	private static void evictOne() {
+		Iterator<String> keys = CACHE.keySet().iterator();
+		if (keys.hasNext()) {
+			keys.next();
+			keys.remove();
+		}
+	}
+
+	public static long getHitCount() {
+		return HITS.sum();
+	}
+
+	public static long getMissCount() {
+		return MISSES.sum();
+	}
+
+	public static double getHitRatio() {
+		long hits = HITS.sum();
+		long total = hits + MISSES.sum();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	public static int size() {
+		return CACHE.size();
+	}
+
+	public static void clear() {
+		CACHE.clear();
+		HITS.reset();
+		MISSES.reset();
+	}
+}
@@ -0,0 +1,89 @@
+package com.inf.commons;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.inf.utils.PropertyUtils;
+
+public final class PollingWait {
+	private static final long POLLING_INTERVAL_MILLIS = PropertyUtils.getLong("PollingInterval", GlobalConstants.POLLING_INTERVAL_MILLIS);
+	private static final long MAX_POLLING_INTERVAL_MILLIS = PropertyUtils.getLong("MaxPollingInterval", GlobalConstants.MAX_POLLING_INTERVAL_MILLIS);
+	private static final double POLLING_BACKOFF = Double.parseDouble(PropertyUtils.getValue("PollingBackoff", String.valueOf(GlobalConstants.POLLING_BACKOFF)));
+
+	private final WebDriver driver;
+	private final long timeoutMillis;
+
+	public PollingWait(WebDriver driver, long timeoutSeconds) {
+		this(driver, Duration.ofSeconds(timeoutSeconds));
+	}
+
+	public PollingWait(WebDriver driver, Duration timeout) {
+		this.driver = driver;
+		this.timeoutMillis = timeout.toMillis();
+	}
+
+	public <T> T until(Function<WebDriver, T> condition) {
+		return until(String.valueOf(condition), condition);
+	}
+
+	public <T> T until(String description, Function<WebDriver, T> condition) {
+		return until(description, description, condition);
+	}
+
+	/**
+	 * Waits like {@link #until(String, Function)}, recording the wait in {@link WaitStatistics} under
+	 * statisticsKey, which leaves out values such as bound locator values and window handles.
+	 */
+	public <T> T until(String description, String statisticsKey, Function<WebDriver, T> condition) {
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		long interval = POLLING_INTERVAL_MILLIS;
+		RuntimeException lastException = null;
+		while (true) {
+			try {
+				T value = condition.apply(driver);
+				if (value != null && !Boolean.FALSE.equals(value)) {
+					WaitStatistics.record(statisticsKey, System.nanoTime() - start, true);
+					return value;
+				}
+			} catch (NotFoundException | StaleElementReferenceException e) {
+				lastException = e;
+			}
+			long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remainingMillis <= 0) {
+				WaitStatistics.record(statisticsKey, System.nanoTime() - start, false);
+				throw new TimeoutException("Expected condition failed: " + description + " (tried for " + timeoutMillis + " ms)", lastException);
+			}
+			sleep(Math.min(interval, remainingMillis));
+			interval = Math.min((long) (interval * POLLING_BACKOFF), MAX_POLLING_INTERVAL_MILLIS);
+		}
+	}
+
+	public <T> T untilOrNull(String description, Function<WebDriver, T> condition) {
+		return untilOrNull(description, description, condition);
+	}
+
+	public <T> T untilOrNull(String description, String statisticsKey, Function<WebDriver, T> condition) {
+		try {
+			return until(description, statisticsKey, condition);
+		} catch (TimeoutException e) {
+			return null;
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebDriverException("Interrupted while waiting", e);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.inf.commons;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+public final class WaitCondition {
+
+	public enum Type {
+		PRESENT, VISIBLE, ALL_VISIBLE, INVISIBLE, ALL_INVISIBLE, CLICKABLE
+	}
+
+	private final Type type;
+	private final Locator locator;
+	private final String[] dynamicValues;
+
+	private WaitCondition(Type type, String locatorType, String... dynamicValues) {
+		this(type, LocatorCache.getLocator(locatorType), dynamicValues);
+	}
+
+	private WaitCondition(Type type, Locator locator, String[] dynamicValues) {
+		this.type = type;
+		this.locator = locator;
+		this.dynamicValues = dynamicValues;
+	}
+
+	public static WaitCondition present(String locatorType, String... dynamicValues) {
+		return new WaitCondition(Type.PRESENT, locatorType, dynamicValues);
+	}
+
+	public static WaitCondition present(Locator locator) {
+		return new WaitCondition(Type.PRESENT, locator, new String[0]);
+	}
+
+	public static WaitCondition visible(String locatorType, String... dynamicValues) {
+		return new WaitCondition(Type.VISIBLE, locatorType, dynamicValues);
+	}
+
+	public static WaitCondition visible(Locator locator) {
+		return new WaitCondition(Type.VISIBLE, locator, new String[0]);
+	}
+
+	public static WaitCondition allVisible(String locatorType, String... dynamicValues) {
+		return new WaitCondition(Type.ALL_VISIBLE, locatorType, dynamicValues);
+	}
+
+	public static WaitCondition allVisible(Locator locator) {
+		return new WaitCondition(Type.ALL_VISIBLE, locator, new String[0]);
+	}
+
+	public static WaitCondition invisible(String locatorType, String... dynamicValues) {
+		return new WaitCondition(Type.INVISIBLE, locatorType, dynamicValues);
+	}
+
+	public static WaitCondition invisible(Locator locator) {
+		return new WaitCondition(Type.INVISIBLE, locator, new String[0]);
+	}
+
+	public static WaitCondition allInvisible(String locatorType, String... dynamicValues) {
+		return new WaitCondition(Type.ALL_INVISIBLE, locatorType, dynamicValues);
+	}
+
+	public static WaitCondition allInvisible(Locator locator) {
+		return new WaitCondition(Type.ALL_INVISIBLE, locator, new String[0]);
+	}
+
+	public static WaitCondition clickable(String locatorType, String... dynamicValues) {
+		return new WaitCondition(Type.CLICKABLE, locatorType, dynamicValues);
+	}
+
+	public static WaitCondition clickable(Locator locator) {
+		return new WaitCondition(Type.CLICKABLE, locator, new String[0]);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public By getBy() {
+		return dynamicValues.length == 0 ? locator.toBy() : locator.toBy(dynamicValues);
+	}
+
+	Map<String, Object> toScriptArgument() {
+		Map<String, Object> argument = new HashMap<>();
+		argument.put("type", type.name());
+		argument.put("strategy", locator.getStrategy().name());
+		argument.put("expression", dynamicValues.length == 0 ? locator.getExpression() : locator.getExpression(dynamicValues));
+		return argument;
+	}
+
+	Function<WebDriver, ?> toExpectedCondition() {
+		By by = getBy();
+		switch (type) {
+		case PRESENT:
+			return ExpectedConditions.presenceOfElementLocated(by);
+		case VISIBLE:
+			return ExpectedConditions.visibilityOfElementLocated(by);
+		case ALL_VISIBLE:
+			return ExpectedConditions.visibilityOfAllElementsLocatedBy(by);
+		case INVISIBLE:
+			return ExpectedConditions.invisibilityOfElementLocated(by);
+		case ALL_INVISIBLE:
+			return allInvisible(by);
+		default:
+			return ExpectedConditions.elementToBeClickable(by);
+		}
+	}
+
+	/**
+	 * Finds the elements on the first poll only and then watches those, counting stale ones as invisible; finding
+	 * them again on every poll would wait the whole implicit timeout each time once they are gone.
+	 */
+	private static Function<WebDriver, Boolean> allInvisible(By by) {
+		List<List<WebElement>> found = new ArrayList<>(1);
+		return driver -> {
+			if (found.isEmpty()) {
+				found.add(driver.findElements(by));
+			}
+			return ExpectedConditions.invisibilityOfAllElements(found.get(0)).apply(driver);
+		};
+	}
+
+	/** Like toString, with the locator template instead of the bound values. */
+	String toStatisticsKey() {
+		return type.name().toLowerCase(Locale.ROOT) + " " + locator.getTemplate();
+	}
+
+	@Override
+	public String toString() {
+		return type.name().toLowerCase(Locale.ROOT) + " " + getBy();
+	}
+}
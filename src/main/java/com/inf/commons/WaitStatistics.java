@@ -0,0 +1,51 @@
+package com.inf.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.inf.metrics.ActionMetrics;
+
+public final class WaitStatistics {
+	private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+	private WaitStatistics() {
+	}
+
+	public static void record(String description, long elapsedNanos, boolean satisfied) {
+		Entry entry = ENTRIES.computeIfAbsent(description, key -> new Entry());
+		entry.count.increment();
+		entry.totalNanos.add(elapsedNanos);
+		entry.maxNanos.accumulate(elapsedNanos);
+		if (!satisfied) {
+			entry.timeouts.increment();
+		}
+		ActionMetrics.record(satisfied ? "wait" : "wait (timed out)", description, elapsedNanos);
+	}
+
+	public static String summary(int limit) {
+		List<Map.Entry<String, Entry>> entries = new ArrayList<>(ENTRIES.entrySet());
+		entries.sort((first, second) -> Long.compare(second.getValue().totalNanos.sum(), first.getValue().totalNanos.sum()));
+		StringBuilder builder = new StringBuilder("Wait time by check (count / total ms / max ms / timeouts):");
+		for (Map.Entry<String, Entry> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+			Entry value = entry.getValue();
+			builder.append(System.lineSeparator()).append("  ").append(value.count.sum())
+					.append(" / ").append(TimeUnit.NANOSECONDS.toMillis(value.totalNanos.sum()))
+					.append(" / ").append(TimeUnit.NANOSECONDS.toMillis(value.maxNanos.get()))
+					.append(" / ").append(value.timeouts.sum())
+					.append("  ").append(entry.getKey());
+		}
+		return builder.toString();
+	}
+
+	private static final class Entry {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAdder timeouts = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+	}
+}
@@ -0,0 +1,229 @@
+package com.inf.commons;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Keeps an index of window handle to title, URL and opener for one driver. The index is only refreshed when
+ * getWindowHandles returns a different set, and waits poll the handle set instead of sleeping. A window found
+ * by title or URL is read again before switching to it, as it may have navigated since it was indexed.
+ */
+public final class WindowManager {
+	private static final Logger LOG = LogManager.getLogger(WindowManager.class.getName());
+	private static final Map<WebDriver, WindowManager> MANAGERS = new ConcurrentHashMap<>();
+
+	private final WebDriver driver;
+	private final Map<String, WindowInfo> windows = new LinkedHashMap<>();
+	private String currentHandle;
+
+	private WindowManager(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	public static WindowManager of(WebDriver driver) {
+		return MANAGERS.computeIfAbsent(driver, WindowManager::new);
+	}
+
+	public static void release(WebDriver driver) {
+		MANAGERS.remove(driver);
+	}
+
+	public Set<String> waitForWindowCount(int expectedCount) {
+		return new PollingWait(driver, GlobalConstants.LONG_TIMEOUT).until("window count " + expectedCount, currentDriver -> {
+			Set<String> handles = currentDriver.getWindowHandles();
+			return handles.size() >= expectedCount ? handles : null;
+		});
+	}
+
+	public String waitForNewWindow(Set<String> previousHandles) {
+		return new PollingWait(driver, GlobalConstants.LONG_TIMEOUT).until("new window", currentDriver -> {
+			for (String handle : currentDriver.getWindowHandles()) {
+				if (!previousHandles.contains(handle)) {
+					return handle;
+				}
+			}
+			return null;
+		});
+	}
+
+	public void switchTo(String handle) {
+		ElementCache.invalidate(driver);
+		driver.switchTo().window(handle);
+		currentHandle = handle;
+	}
+
+	public String switchToOtherWindow(String excludedHandle) {
+		String target = new PollingWait(driver, GlobalConstants.LONG_TIMEOUT).until("window other than " + excludedHandle, "other window", currentDriver -> {
+			String other = null;
+			for (String handle : currentDriver.getWindowHandles()) {
+				if (!handle.equals(excludedHandle)) {
+					other = handle;
+				}
+			}
+			return other;
+		});
+		switchTo(target);
+		return target;
+	}
+
+	public String switchToChildWindow(String openerHandle) {
+		String child = new PollingWait(driver, GlobalConstants.LONG_TIMEOUT).until("child window of " + openerHandle, "child window", currentDriver -> {
+			refresh();
+			String newest = null;
+			for (Map.Entry<String, WindowInfo> window : windows.entrySet()) {
+				if (openerHandle.equals(window.getValue().opener)) {
+					newest = window.getKey();
+				}
+			}
+			return newest;
+		});
+		switchTo(child);
+		return child;
+	}
+
+	public boolean switchToWindowByTitle(String expectedTitle) {
+		return switchToMatchingWindow("title " + expectedTitle, window -> window.title.trim().equals(expectedTitle));
+	}
+
+	public boolean switchToWindowByUrl(String urlRegex) {
+		Pattern pattern = Pattern.compile(urlRegex);
+		return switchToMatchingWindow("url " + urlRegex, window -> pattern.matcher(window.url).find());
+	}
+
+	public void closeAllWindowsExcept(String keptHandle) {
+		for (String handle : driver.getWindowHandles()) {
+			if (!handle.equals(keptHandle)) {
+				driver.switchTo().window(handle).close();
+				windows.remove(handle);
+			}
+		}
+		switchTo(keptHandle);
+	}
+
+	private boolean switchToMatchingWindow(String description, Predicate<WindowInfo> matcher) {
+		refresh();
+		String handle = findHandle(matcher);
+		if (handle != null) {
+			String focused = currentHandle;
+			if (!matcher.test(reindex(handle))) {
+				restoreCurrent(focused, windows.keySet());
+				handle = null;
+			}
+		}
+		if (handle == null) {
+			// Titles and URLs of windows that were still loading when indexed may have changed since
+			handle = new PollingWait(driver, GlobalConstants.SHORT_TIMEOUT).untilOrNull(description, currentDriver -> {
+				reindexAll();
+				return findHandle(matcher);
+			});
+		}
+		if (handle == null) {
+			LOG.info("No window found with {}", description);
+			return false;
+		}
+		switchTo(handle);
+		return true;
+	}
+
+	private String findHandle(Predicate<WindowInfo> matcher) {
+		for (Map.Entry<String, WindowInfo> window : windows.entrySet()) {
+			if (matcher.test(window.getValue())) {
+				return window.getKey();
+			}
+		}
+		return null;
+	}
+
+	private void refresh() {
+		Set<String> handles = driver.getWindowHandles();
+		if (handles.equals(windows.keySet())) {
+			return;
+		}
+		windows.keySet().retainAll(handles);
+		List<String> newHandles = new ArrayList<>();
+		for (String handle : handles) {
+			if (!windows.containsKey(handle)) {
+				newHandles.add(handle);
+			}
+		}
+		// A window that appears while another one is focused was opened from it
+		String opener = getCurrentHandle();
+		for (String handle : newHandles) {
+			windows.put(handle, readWindow(handle, handle.equals(opener) ? null : opener));
+		}
+		restoreCurrent(opener, handles);
+	}
+
+	/** Reads one indexed window again, since an unchanged handle set says nothing about navigation inside it. */
+	private WindowInfo reindex(String handle) {
+		WindowInfo window = readWindow(handle, windows.get(handle).opener);
+		windows.put(handle, window);
+		return window;
+	}
+
+	private void reindexAll() {
+		Set<String> handles = driver.getWindowHandles();
+		windows.keySet().retainAll(handles);
+		String current = getCurrentHandle();
+		for (String handle : handles) {
+			WindowInfo previous = windows.get(handle);
+			String opener = previous != null ? previous.opener : handle.equals(current) ? null : current;
+			windows.put(handle, readWindow(handle, opener));
+		}
+		restoreCurrent(current, handles);
+	}
+
+	private WindowInfo readWindow(String handle, String opener) {
+		driver.switchTo().window(handle);
+		currentHandle = handle;
+		@SuppressWarnings("unchecked")
+		List<Object> titleAndUrl = (List<Object>) ((JavascriptExecutor) driver).executeScript("return [document.title, location.href];");
+		return new WindowInfo(String.valueOf(titleAndUrl.get(0)), String.valueOf(titleAndUrl.get(1)), opener);
+	}
+
+	private String getCurrentHandle() {
+		// Page code may switch windows directly through the driver, so the focused handle is read again here
+		try {
+			currentHandle = driver.getWindowHandle();
+		} catch (NoSuchWindowException e) {
+			currentHandle = null;
+		}
+		return currentHandle;
+	}
+
+	private void restoreCurrent(String handle, Set<String> handles) {
+		if (handle != null && handles.contains(handle) && !handle.equals(currentHandle)) {
+			driver.switchTo().window(handle);
+			currentHandle = handle;
+		}
+	}
+
+	public Set<String> getKnownHandles() {
+		return new HashSet<>(windows.keySet());
+	}
+
+	private static final class WindowInfo {
+		private final String title;
+		private final String url;
+		private final String opener;
+
+		private WindowInfo(String title, String url, String opener) {
+			this.title = title;
+			this.url = url;
+			this.opener = opener;
+		}
+	}
+}
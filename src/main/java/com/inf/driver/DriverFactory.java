@@ -0,0 +1,81 @@
+package com.inf.driver;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+
+import com.inf.commons.BrowserProfile;
+import com.inf.metrics.ActionMetrics;
+import com.inf.utils.PropertyUtils;
+
+public class DriverFactory {
+	private static final Logger LOGGER = LogManager.getLogger(DriverFactory.class.getName());
+	private static final BrowserProfile BROWSER_PROFILE = BrowserProfile.fromProperties();
+
+	private DriverFactory() {
+	}
+
+	public static String getBrowserName() {
+		String browser = PropertyUtils.getValue("Browser", "chrome");
+		return browser.contains(":") ? browser.substring(0, browser.indexOf(':')) : browser;
+	}
+
+	public static BrowserProfile getBrowserProfile() {
+		return BROWSER_PROFILE;
+	}
+
+	public static WebDriver createDriver(String browserName) {
+		String browser = browserName;
+		if (!"chrome".equals(browser) && !"firefox".equals(browser) && !"edge".equals(browser)) {
+			LOGGER.info("*** Browser name {} invalid, chrome will be used ***", browserName);
+			browser = "chrome";
+		}
+		if (RemoteDriverFactory.isEnabled()) {
+			return createRemoteDriver(browser);
+		}
+		DriverProvisioner.provision(browser);
+		long start = System.nanoTime();
+		WebDriver driver;
+		switch (browser) {
+		case "firefox":
+			driver = new FirefoxDriver(BROWSER_PROFILE.firefoxOptions());
+			break;
+		case "edge":
+			driver = new EdgeDriver(BROWSER_PROFILE.edgeOptions());
+			break;
+		default:
+			driver = new ChromeDriver(BROWSER_PROFILE.chromeOptions());
+			break;
+		}
+		long spawnNanos = System.nanoTime() - start;
+		ActionMetrics.record("startup: spawn browser", null, spawnNanos);
+		LOGGER.info("*** {} started in {} ms ***", browser, spawnNanos / 1_000_000);
+		DriverProvisioner.remember(browser, driver);
+		return driver;
+	}
+
+	private static WebDriver createRemoteDriver(String browser) {
+		Capabilities capabilities;
+		switch (browser) {
+		case "firefox":
+			capabilities = BROWSER_PROFILE.firefoxOptions();
+			break;
+		case "edge":
+			capabilities = BROWSER_PROFILE.edgeOptions();
+			break;
+		default:
+			capabilities = BROWSER_PROFILE.chromeOptions();
+			break;
+		}
+		long start = System.nanoTime();
+		WebDriver driver = RemoteDriverFactory.createDriver(browser, capabilities);
+		long spawnNanos = System.nanoTime() - start;
+		ActionMetrics.record("startup: spawn browser", null, spawnNanos);
+		LOGGER.info("*** {} started on grid {} in {} ms ***", browser, RemoteDriverFactory.getGridUrl(), spawnNanos / 1_000_000);
+		return driver;
+	}
+}
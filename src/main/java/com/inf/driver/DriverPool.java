@@ -0,0 +1,275 @@
+package com.inf.driver;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.inf.commons.ElementCache;
+import com.inf.commons.GlobalConstants;
+import com.inf.commons.WindowManager;
+import com.inf.fixture.SiteResolver;
+import com.inf.metrics.ActionMetrics;
+import com.inf.network.NetworkTracker;
+import com.inf.network.RequestShaper;
+import com.inf.report.FailureCapture;
+import com.inf.utils.PropertyUtils;
+
+public class DriverPool {
+	private static final Logger LOGGER = LogManager.getLogger(DriverPool.class.getName());
+	private static final boolean PREWARM = PropertyUtils.getBoolean("Prewarm", true);
+	private static final DriverPool INSTANCE = new DriverPool(PropertyUtils.getInt("PoolSize", Runtime.getRuntime().availableProcessors()));
+
+	private final int poolSize;
+	private final BlockingQueue<WebDriver> idleDrivers = new LinkedBlockingQueue<>();
+	private final Set<WebDriver> allDrivers = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger createdDrivers = new AtomicInteger();
+	private final ThreadLocal<WebDriver> threadDriver = new ThreadLocal<>();
+	private final AtomicBoolean prewarmed = new AtomicBoolean();
+	private final ExecutorService launcher;
+
+	DriverPool(int poolSize) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("PoolSize must be at least 1 but was: " + poolSize);
+		}
+		this.poolSize = poolSize;
+		AtomicInteger launcherThreads = new AtomicInteger();
+		this.launcher = Executors.newFixedThreadPool(poolSize, runnable -> {
+			Thread thread = new Thread(runnable, "browser-launcher-" + launcherThreads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public static DriverPool getInstance() {
+		return INSTANCE;
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	/**
+	 * Starts launching browsers up to the pool size in the background, so scenarios find them already open
+	 * and navigated. Only the first call has an effect.
+	 */
+	public void prewarm() {
+		if (!PREWARM || !prewarmed.compareAndSet(false, true)) {
+			return;
+		}
+		int launched = 0;
+		while (launchInBackground()) {
+			launched++;
+		}
+		LOGGER.info("*** Pre-launching {} browsers ***", launched);
+	}
+
+	public WebDriver acquire() {
+		WebDriver driver = threadDriver.get();
+		if (driver == null) {
+			driver = takeIdleOrCreate();
+			threadDriver.set(driver);
+		}
+		return driver;
+	}
+
+	public WebDriver getCurrentDriver() {
+		return threadDriver.get();
+	}
+
+	public void release() {
+		WebDriver driver = threadDriver.get();
+		if (driver == null) {
+			return;
+		}
+		threadDriver.remove();
+		ElementCache.release(driver);
+		WindowManager.release(driver);
+		try {
+			// The scenario thread does not wait for the browser to be cleaned up
+			launcher.execute(() -> recycle(driver));
+		} catch (RejectedExecutionException e) {
+			discard(driver);
+		}
+	}
+
+	public void quitAll() {
+		launcher.shutdownNow();
+		idleDrivers.clear();
+		for (WebDriver driver : allDrivers) {
+			discard(driver);
+		}
+	}
+
+	private WebDriver takeIdleOrCreate() {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(GlobalConstants.POOL_TIMEOUT);
+		while (true) {
+			WebDriver driver = idleDrivers.poll();
+			if (driver != null && isAlive(driver)) {
+				return driver;
+			}
+			if (reserveSlot()) {
+				return createDriver();
+			}
+			if (System.nanoTime() > deadline) {
+				throw new IllegalStateException("No browser was released to the pool within " + GlobalConstants.POOL_TIMEOUT + " seconds");
+			}
+			try {
+				driver = idleDrivers.poll(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a browser", e);
+			}
+			if (driver != null && isAlive(driver)) {
+				return driver;
+			}
+		}
+	}
+
+	/**
+	 * One cheap command before an idle browser is handed out, since a grid node ends sessions that stay idle
+	 * longer than its --session-timeout and a local browser may have crashed. A dead one is closed, which frees
+	 * its slot for a new browser.
+	 */
+	private boolean isAlive(WebDriver driver) {
+		try {
+			driver.getWindowHandle();
+			return true;
+		} catch (WebDriverException e) {
+			LOGGER.info("*** Idle browser no longer responds ({}), it will be replaced ***", e.getClass().getSimpleName());
+			discard(driver);
+			return false;
+		}
+	}
+
+	private void recycle(WebDriver driver) {
+		try {
+			resetDriver(driver);
+			NetworkTracker.reset(driver);
+			RequestShaper.reset(driver);
+			if (FailureCapture.isEnabled()) {
+				FailureCapture.clearConsole(driver);
+			}
+			idleDrivers.offer(driver);
+		} catch (WebDriverException e) {
+			LOGGER.info("*** Browser can not be reused, it will be closed ***", e);
+			discard(driver);
+			launchInBackground();
+		}
+	}
+
+	private boolean launchInBackground() {
+		if (!reserveSlot()) {
+			return false;
+		}
+		try {
+			launcher.execute(() -> {
+				try {
+					WebDriver driver = createDriver();
+					if (launcher.isShutdown()) {
+						discard(driver);
+					} else {
+						idleDrivers.offer(driver);
+					}
+				} catch (RuntimeException e) {
+					LOGGER.info("*** Browser could not be launched in the background ***", e);
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException e) {
+			createdDrivers.decrementAndGet();
+			return false;
+		}
+	}
+
+	private boolean reserveSlot() {
+		int created = createdDrivers.get();
+		while (created < poolSize) {
+			if (createdDrivers.compareAndSet(created, created + 1)) {
+				return true;
+			}
+			created = createdDrivers.get();
+		}
+		return false;
+	}
+
+	private WebDriver createDriver() {
+		String browserName = DriverFactory.getBrowserName();
+		LOGGER.info("*** Open browser {} ({}/{}) ***", browserName, createdDrivers.get(), poolSize);
+		WebDriver driver = null;
+		try {
+			driver = ActionMetrics.decorate(DriverFactory.createDriver(browserName));
+			allDrivers.add(driver);
+			driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(GlobalConstants.ZERO_IMPLICIT_WAIT ? 0 : GlobalConstants.LONG_TIMEOUT));
+			driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(GlobalConstants.SCRIPT_TIMEOUT));
+			if (DriverFactory.getBrowserProfile().isMaximized()) {
+				driver.manage().window().maximize();
+			}
+			NetworkTracker.start(driver);
+			RequestShaper.start(driver);
+			long start = System.nanoTime();
+			driver.get(SiteResolver.resolve(GlobalConstants.BANK_GURU_URL));
+			ActionMetrics.record("startup: first page load", null, System.nanoTime() - start);
+			return driver;
+		} catch (RuntimeException e) {
+			if (driver != null) {
+				discard(driver);
+			} else {
+				createdDrivers.decrementAndGet();
+			}
+			throw e;
+		}
+	}
+
+	private void resetDriver(WebDriver driver) {
+		String firstWindow = null;
+		for (String windowID : driver.getWindowHandles()) {
+			if (firstWindow == null) {
+				firstWindow = windowID;
+			} else {
+				driver.switchTo().window(windowID).close();
+			}
+		}
+		driver.switchTo().window(firstWindow);
+		// Cookies and storage are cleared per origin: the one the scenario ended on, then the one the next starts on
+		clearOrigin(driver);
+		driver.get(SiteResolver.resolve(GlobalConstants.BANK_GURU_URL));
+		clearOrigin(driver);
+	}
+
+	private static void clearOrigin(WebDriver driver) {
+		driver.manage().deleteAllCookies();
+		// Pages such as about:blank have no storage and throw on access
+		((JavascriptExecutor) driver).executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+	}
+
+	private void discard(WebDriver driver) {
+		if (!allDrivers.remove(driver)) {
+			return;
+		}
+		createdDrivers.decrementAndGet();
+		ElementCache.release(driver);
+		WindowManager.release(driver);
+		NetworkTracker.release(driver);
+		RequestShaper.release(driver);
+		try {
+			driver.quit();
+			LOGGER.info("*** Closed the browser ***");
+		} catch (WebDriverException e) {
+			LOGGER.info("*** Can not close the browser ***", e);
+		}
+	}
+}
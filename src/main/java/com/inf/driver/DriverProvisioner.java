@@ -0,0 +1,193 @@
+package com.inf.driver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import com.inf.metrics.ActionMetrics;
+import com.inf.utils.PropertyUtils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Resolves the driver binary of a browser once per machine. The browser installation is fingerprinted by the
+ * path, size and modification time of its binary, which needs no network and no process, and the driver that
+ * worked with it is kept in DriverCacheFile together with the browser version reported by the first session.
+ * WebDriverManager is only asked again when the browser changes; when it can not reach the network the newest
+ * cached driver of that browser is used.
+ */
+public final class DriverProvisioner {
+	private static final Logger LOGGER = LogManager.getLogger(DriverProvisioner.class.getName());
+	private static final Path CACHE_FILE = Paths.get(PropertyUtils.getValue("DriverCacheFile",
+			Paths.get(System.getProperty("user.home"), ".cache", "mvn-cucumber-framework", "drivers.properties").toString()));
+	private static final Map<String, String> RESOLVED = new ConcurrentHashMap<>();
+	private static final Set<String> REMEMBERED = ConcurrentHashMap.newKeySet();
+	private static final ReentrantLock LOCK = new ReentrantLock();
+
+	private DriverProvisioner() {
+	}
+
+	public static String provision(String browserName) {
+		LOCK.lock();
+		try {
+			String resolved = RESOLVED.get(browserName);
+			if (resolved != null) {
+				return resolved;
+			}
+			long start = System.nanoTime();
+			String property = getDriverProperty(browserName);
+			String driverPath = System.getProperty(property);
+			if (driverPath == null || !Files.isExecutable(Paths.get(driverPath))) {
+				driverPath = resolve(browserName);
+				System.setProperty(property, driverPath);
+			}
+			RESOLVED.put(browserName, driverPath);
+			ActionMetrics.record("startup: resolve driver", null, System.nanoTime() - start);
+			LOGGER.info("*** {} driver {} resolved in {} ms ***", browserName, driverPath, (System.nanoTime() - start) / 1_000_000);
+			return driverPath;
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	public static void remember(String browserName, WebDriver driver) {
+		LOCK.lock();
+		try {
+			if (!(driver instanceof HasCapabilities) || !REMEMBERED.add(browserName)) {
+				return;
+			}
+			Properties cache = load();
+			String key = cacheKey(browserName);
+			String entry = cache.getProperty(key);
+			if (entry != null && entry.startsWith("|")) {
+				cache.setProperty(key, ((HasCapabilities) driver).getCapabilities().getBrowserVersion() + entry);
+				save(cache);
+			}
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	private static String resolve(String browserName) {
+		Properties cache = load();
+		String key = cacheKey(browserName);
+		String entry = cache.getProperty(key);
+		if (entry != null && Files.isExecutable(Paths.get(driverPathOf(entry)))) {
+			return driverPathOf(entry);
+		}
+		try {
+			WebDriverManager manager = getManager(browserName);
+			manager.setup();
+			String driverPath = manager.getDownloadedDriverPath();
+			// The browser version is filled in by remember() once a session reports it
+			cache.setProperty(key, "|" + driverPath);
+			save(cache);
+			return driverPath;
+		} catch (RuntimeException e) {
+			String fallback = newestCachedDriver(cache, browserName);
+			if (fallback == null) {
+				throw e;
+			}
+			LOGGER.info("*** Can not resolve the {} driver, using cached driver {} ***", browserName, fallback, e);
+			return fallback;
+		}
+	}
+
+	private static String newestCachedDriver(Properties cache, String browserName) {
+		String newest = null;
+		long newestModified = Long.MIN_VALUE;
+		for (String key : cache.stringPropertyNames()) {
+			if (!key.startsWith(browserName + "@")) {
+				continue;
+			}
+			Path driverPath = Paths.get(driverPathOf(cache.getProperty(key)));
+			try {
+				long modified = Files.getLastModifiedTime(driverPath).toMillis();
+				if (Files.isExecutable(driverPath) && modified > newestModified) {
+					newest = driverPath.toString();
+					newestModified = modified;
+				}
+			} catch (IOException e) {
+				LOGGER.debug("Cached driver {} is gone", driverPath, e);
+			}
+		}
+		return newest;
+	}
+
+	private static String cacheKey(String browserName) {
+		String fingerprint = "unknown";
+		Optional<Path> browserPath = getManager(browserName).getBrowserPath();
+		if (browserPath.isPresent()) {
+			try {
+				Path binary = browserPath.get();
+				fingerprint = Integer.toHexString((binary + ":" + Files.size(binary) + ":" + Files.getLastModifiedTime(binary).toMillis()).hashCode());
+			} catch (IOException e) {
+				LOGGER.debug("Can not fingerprint {}", browserPath.get(), e);
+			}
+		}
+		return browserName + "@" + fingerprint;
+	}
+
+	private static String driverPathOf(String entry) {
+		return entry.substring(entry.indexOf('|') + 1);
+	}
+
+	private static WebDriverManager getManager(String browserName) {
+		switch (browserName) {
+		case "firefox":
+			return WebDriverManager.firefoxdriver();
+		case "edge":
+			return WebDriverManager.edgedriver();
+		default:
+			return WebDriverManager.chromedriver();
+		}
+	}
+
+	private static String getDriverProperty(String browserName) {
+		switch (browserName) {
+		case "firefox":
+			return "webdriver.gecko.driver";
+		case "edge":
+			return "webdriver.edge.driver";
+		default:
+			return "webdriver.chrome.driver";
+		}
+	}
+
+	private static Properties load() {
+		Properties cache = new Properties();
+		if (Files.isRegularFile(CACHE_FILE)) {
+			try (InputStream in = Files.newInputStream(CACHE_FILE)) {
+				cache.load(in);
+			} catch (IOException e) {
+				LOGGER.info("Can not read driver cache {}", CACHE_FILE, e);
+			}
+		}
+		return cache;
+	}
+
+	private static void save(Properties cache) {
+		try {
+			Files.createDirectories(CACHE_FILE.getParent());
+			try (OutputStream out = Files.newOutputStream(CACHE_FILE)) {
+				cache.store(out, "Driver binary per browser installation: browser version|driver path");
+			}
+		} catch (IOException e) {
+			LOGGER.info("Can not write driver cache {}", CACHE_FILE, e);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.inf.driver;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import com.inf.metrics.ActionMetrics;
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Opens browsers on the Selenium Grid at GridUrl instead of on this machine; a standalone server started with
+ * "java -jar selenium-server.jar standalone" is a grid too. Sessions are pooled and reused by DriverPool like local
+ * browsers; one the node ended after its --session-timeout fails DriverPool's check on acquire and is replaced.
+ *
+ * Every WebDriver command is timed at the HTTP layer. New session requests are reported as "grid: new session",
+ * which is the time spent in the grid's queue plus the browser start on the node, and every other command as
+ * "grid: round trip", so slow commands can be told apart from a grid that is too small. A new session request
+ * the grid turns down or times out in the queue is retried GridSessionRetries times with a doubling backoff.
+ *
+ * Selenium's Netty client shares one connection pool between all sessions and configures it from the
+ * org.asynchttpclient system properties when it is first loaded; they are set here from GridMaxConnections and
+ * GridIdleConnectionSeconds unless given on the command line.
+ */
+public final class RemoteDriverFactory {
+	private static final Logger LOGGER = LogManager.getLogger(RemoteDriverFactory.class.getName());
+	private static final String GRID_URL = PropertyUtils.getValue("GridUrl", null);
+	// Longer than the grid's default --session-request-timeout of 300 s, so the grid times out a queued request first
+	private static final Duration READ_TIMEOUT = Duration.ofSeconds(PropertyUtils.getLong("GridReadTimeoutSeconds", 360));
+	private static final int SESSION_RETRIES = PropertyUtils.getInt("GridSessionRetries", 3);
+	private static final long RETRY_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(PropertyUtils.getLong("GridRetryBackoffSeconds", 5));
+	// What Selenium 4 grids answer when a request waited in the new session queue too long or was turned away
+	private static final String[] SATURATION_MESSAGES = { "new session request timed out", "request rejected" };
+
+	static {
+		if (GRID_URL != null) {
+			// Commands of all pooled sessions go out in parallel; keep room for two open connections per session
+			int poolSize = PropertyUtils.getInt("PoolSize", Runtime.getRuntime().availableProcessors());
+			setIfAbsent("org.asynchttpclient.maxConnectionsPerHost", String.valueOf(PropertyUtils.getInt("GridMaxConnections", poolSize * 2)));
+			setIfAbsent("org.asynchttpclient.keepAlive", "true");
+			setIfAbsent("org.asynchttpclient.pooledConnectionIdleTimeout",
+					String.valueOf(TimeUnit.SECONDS.toMillis(PropertyUtils.getLong("GridIdleConnectionSeconds", 60))));
+		}
+	}
+
+	private RemoteDriverFactory() {
+	}
+
+	public static boolean isEnabled() {
+		return GRID_URL != null;
+	}
+
+	public static String getGridUrl() {
+		return GRID_URL;
+	}
+
+	static WebDriver createDriver(String browser, Capabilities capabilities) {
+		ClientConfig config = ClientConfig.defaultConfig()
+				.baseUri(URI.create(GRID_URL))
+				.readTimeout(READ_TIMEOUT)
+				.withFilter(timing());
+		long backoff = RETRY_BACKOFF_MILLIS;
+		for (int attempt = 0;; attempt++) {
+			try {
+				return RemoteWebDriver.builder().oneOf(capabilities).config(config).build();
+			} catch (SessionNotCreatedException e) {
+				if (attempt >= SESSION_RETRIES || !isSaturated(e)) {
+					throw e;
+				}
+				LOGGER.info("*** Grid {} has no free {} slot, retrying in {} ms ({}/{}) ***", GRID_URL, browser, backoff, attempt + 1, SESSION_RETRIES);
+				ActionMetrics.record("grid: saturated", null, 0);
+				sleep(backoff);
+				backoff *= 2;
+			}
+		}
+	}
+
+	private static Filter timing() {
+		return next -> request -> {
+			long start = System.nanoTime();
+			HttpResponse response = next.execute(request);
+			boolean newSession = request.getMethod() == HttpMethod.POST && request.getUri().endsWith("/session");
+			ActionMetrics.record(newSession ? "grid: new session" : "grid: round trip", null, System.nanoTime() - start);
+			return response;
+		};
+	}
+
+	/**
+	 * Queue timeouts and rejections clear up when sessions end; anything else, such as capabilities no node
+	 * supports or a browser that fails to start, is reported at once.
+	 */
+	private static boolean isSaturated(SessionNotCreatedException e) {
+		String message = String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+		for (String saturation : SATURATION_MESSAGES) {
+			if (message.contains(saturation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a grid slot", e);
+		}
+	}
+
+	private static void setIfAbsent(String key, String value) {
+		if (System.getProperty(key) == null) {
+			System.setProperty(key, value);
+		}
+	}
+}
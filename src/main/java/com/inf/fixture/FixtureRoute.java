@@ -0,0 +1,55 @@
+package com.inf.fixture;
+
+/**
+ * Response shaping for the fixture routes under one path prefix: a delay before the response starts, a
+ * bandwidth limit for the body and a share of requests answered with an error status instead.
+ */
+public final class FixtureRoute {
+	private final long latencyMillis;
+	private final long bytesPerSecond;
+	private final double errorRate;
+	private final int errorStatus;
+
+	public FixtureRoute(long latencyMillis, long bytesPerSecond, double errorRate, int errorStatus) {
+		if (latencyMillis < 0 || bytesPerSecond < 0 || errorRate < 0 || errorRate > 1) {
+			throw new IllegalArgumentException("Invalid fixture route: latency " + latencyMillis + ", bandwidth " + bytesPerSecond + ", error rate " + errorRate);
+		}
+		this.latencyMillis = latencyMillis;
+		this.bytesPerSecond = bytesPerSecond;
+		this.errorRate = errorRate;
+		this.errorStatus = errorStatus;
+	}
+
+	public FixtureRoute withLatency(long millis) {
+		return new FixtureRoute(millis, bytesPerSecond, errorRate, errorStatus);
+	}
+
+	public FixtureRoute withBandwidth(long bytesPerSecond) {
+		return new FixtureRoute(latencyMillis, bytesPerSecond, errorRate, errorStatus);
+	}
+
+	public FixtureRoute withErrors(double rate, int status) {
+		return new FixtureRoute(latencyMillis, bytesPerSecond, rate, status);
+	}
+
+	public long getLatencyMillis() {
+		return latencyMillis;
+	}
+
+	public long getBytesPerSecond() {
+		return bytesPerSecond;
+	}
+
+	public double getErrorRate() {
+		return errorRate;
+	}
+
+	public int getErrorStatus() {
+		return errorStatus;
+	}
+
+	@Override
+	public String toString() {
+		return "latency " + latencyMillis + " ms, bandwidth " + (bytesPerSecond == 0 ? "unlimited" : bytesPerSecond + " B/s") + ", errors " + errorRate + " x " + errorStatus;
+	}
+}
@@ -0,0 +1,212 @@
+package com.inf.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.inf.utils.PropertyUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server for the pages under fixtures/ on the classpath, so scenarios can run without the
+ * internet. Every route prefix can be slowed down, throttled or made to fail, configured in
+ * fixtures/routes.properties, with -DFixtureLatency, -DFixtureBandwidth and -DFixtureErrorRate for routes that
+ * are not listed, or with {@link #route(String, FixtureRoute)} at run time.
+ */
+public final class FixtureServer {
+	private static final Logger LOG = LogManager.getLogger(FixtureServer.class.getName());
+	private static final String ROOT = "fixtures";
+	private static final int MAX_CHUNK_SIZE = 65536;
+	private static FixtureServer instance;
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Map<String, FixtureRoute> routes = new ConcurrentSkipListMap<>();
+	private final FixtureRoute defaultRoute;
+
+	private FixtureServer(int port) throws IOException {
+		defaultRoute = new FixtureRoute(PropertyUtils.getLong("FixtureLatency", 0), PropertyUtils.getLong("FixtureBandwidth", 0),
+				Double.parseDouble(PropertyUtils.getValue("FixtureErrorRate", "0")), PropertyUtils.getInt("FixtureErrorStatus", 503));
+		loadRoutes();
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		// Delayed and throttled responses must not hold up the others
+		executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "fixture-server");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	public static synchronized FixtureServer getInstance() {
+		if (instance == null) {
+			try {
+				instance = new FixtureServer(PropertyUtils.getInt("FixturePort", 0));
+				LOG.info("*** Fixture server started on {} ***", instance.getBaseUrl());
+			} catch (IOException e) {
+				throw new IllegalStateException("Can not start the fixture server", e);
+			}
+		}
+		return instance;
+	}
+
+	public static synchronized void stop() {
+		if (instance != null) {
+			instance.server.stop(0);
+			instance.executor.shutdownNow();
+			instance = null;
+		}
+	}
+
+	public String getBaseUrl() {
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+	}
+
+	public void route(String pathPrefix, FixtureRoute route) {
+		routes.put(pathPrefix, route);
+	}
+
+	public void clearRoutes() {
+		routes.clear();
+		loadRoutes();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String path = exchange.getRequestURI().getPath();
+			FixtureRoute route = findRoute(path);
+			sleep(route.getLatencyMillis());
+			if (route.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < route.getErrorRate()) {
+				exchange.sendResponseHeaders(route.getErrorStatus(), -1);
+				return;
+			}
+			byte[] body = readResource(path);
+			if (body == null) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+			exchange.getResponseHeaders().set("Content-Type", contentType(path));
+			exchange.getResponseHeaders().set("Cache-Control", "no-store");
+			if ("HEAD".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(200, -1);
+				return;
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			write(exchange.getResponseBody(), body, route.getBytesPerSecond());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private FixtureRoute findRoute(String path) {
+		FixtureRoute found = defaultRoute;
+		int longest = -1;
+		for (Map.Entry<String, FixtureRoute> route : routes.entrySet()) {
+			if (path.startsWith(route.getKey()) && route.getKey().length() > longest) {
+				found = route.getValue();
+				longest = route.getKey().length();
+			}
+		}
+		return found;
+	}
+
+	private static byte[] readResource(String path) throws IOException {
+		String resource = ROOT + (path.endsWith("/") ? path + "index.html" : path);
+		if (resource.contains("..")) {
+			return null;
+		}
+		try (InputStream in = FixtureServer.class.getClassLoader().getResourceAsStream(resource)) {
+			return in == null ? null : in.readAllBytes();
+		}
+	}
+
+	private static void write(OutputStream out, byte[] body, long bytesPerSecond) throws IOException {
+		if (bytesPerSecond == 0) {
+			out.write(body);
+			return;
+		}
+		// Chunks of about 100 ms are paced before they are sent, so the last byte arrives at the limited rate too
+		int chunkSize = (int) Math.max(1, Math.min(MAX_CHUNK_SIZE, bytesPerSecond / 10));
+		for (int offset = 0; offset < body.length; offset += chunkSize) {
+			int length = Math.min(chunkSize, body.length - offset);
+			sleep(length * 1000L / bytesPerSecond);
+			out.write(body, offset, length);
+			out.flush();
+		}
+	}
+
+	private static String contentType(String path) {
+		if (path.endsWith(".css")) {
+			return "text/css";
+		} else if (path.endsWith(".js")) {
+			return "application/javascript";
+		} else if (path.endsWith(".png")) {
+			return "image/png";
+		} else if (path.endsWith(".json")) {
+			return "application/json";
+		}
+		return "text/html; charset=UTF-8";
+	}
+
+	private void loadRoutes() {
+		Properties properties = new Properties();
+		try (InputStream in = FixtureServer.class.getClassLoader().getResourceAsStream(ROOT + "/routes.properties")) {
+			if (in == null) {
+				return;
+			}
+			properties.load(in);
+		} catch (IOException e) {
+			LOG.info("Can not read fixture routes", e);
+			return;
+		}
+		for (String prefix : properties.stringPropertyNames()) {
+			String[] values = properties.getProperty(prefix).split(",");
+			FixtureRoute route = defaultRoute;
+			for (String value : values) {
+				String[] setting = value.trim().split("=");
+				switch (setting[0].trim()) {
+				case "latency":
+					route = route.withLatency(Long.parseLong(setting[1].trim()));
+					break;
+				case "bandwidth":
+					route = route.withBandwidth(Long.parseLong(setting[1].trim()));
+					break;
+				case "errorRate":
+					route = route.withErrors(Double.parseDouble(setting[1].trim()), route.getErrorStatus());
+					break;
+				case "errorStatus":
+					route = route.withErrors(route.getErrorRate(), Integer.parseInt(setting[1].trim()));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown fixture route setting " + value + " for " + prefix);
+				}
+			}
+			routes.put(prefix, route);
+		}
+	}
+
+	private static void sleep(long millis) {
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
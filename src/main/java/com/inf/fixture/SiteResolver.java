@@ -0,0 +1,50 @@
+package com.inf.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Properties;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Maps the live URLs used by pages and steps to their copies on the {@link FixtureServer} when the run uses
+ * -DSite=fixtures. The host to fixture directory mapping is read from fixtures/sites.properties; URLs of
+ * hosts without a fixture are returned unchanged.
+ */
+public final class SiteResolver {
+	private static final boolean FIXTURES = "fixtures".equalsIgnoreCase(PropertyUtils.getValue("Site", "live"));
+	private static final Properties SITES = loadSites();
+
+	private SiteResolver() {
+	}
+
+	public static boolean isFixtureMode() {
+		return FIXTURES;
+	}
+
+	public static String resolve(String url) {
+		if (!FIXTURES) {
+			return url;
+		}
+		URI uri = URI.create(url);
+		String directory = SITES.getProperty(String.valueOf(uri.getHost()));
+		if (directory == null) {
+			return url;
+		}
+		String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+		return FixtureServer.getInstance().getBaseUrl() + "/" + directory + path + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+	}
+
+	private static Properties loadSites() {
+		Properties sites = new Properties();
+		try (InputStream in = SiteResolver.class.getClassLoader().getResourceAsStream("fixtures/sites.properties")) {
+			if (in != null) {
+				sites.load(in);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Can not read fixtures/sites.properties", e);
+		}
+		return sites;
+	}
+}
@@ -0,0 +1,162 @@
+package com.inf.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Latency of every browser action, waits and sleeps, aggregated per action, per locator, per step text and
+ * per scenario name. The scenario and step of the calling thread are set by {@link ActionMetricsPlugin};
+ * actions recorded outside a scenario only count in the per action and per locator figures.
+ */
+public final class ActionMetrics {
+	private static final boolean ENABLED = PropertyUtils.getBoolean("ActionMetrics", true);
+	private static final Map<String, LatencyHistogram> ACTIONS = new ConcurrentHashMap<>();
+	private static final Map<String, LatencyHistogram> LOCATORS = new ConcurrentHashMap<>();
+	private static final Map<String, Map<String, LatencyHistogram>> STEP_ACTIONS = new ConcurrentHashMap<>();
+	private static final Map<String, Map<String, LatencyHistogram>> SCENARIO_ACTIONS = new ConcurrentHashMap<>();
+	private static final Map<String, LatencyHistogram> STEP_DURATIONS = new ConcurrentHashMap<>();
+	private static final Map<String, LatencyHistogram> SCENARIO_DURATIONS = new ConcurrentHashMap<>();
+	private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+	private ActionMetrics() {
+	}
+
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	public static WebDriver decorate(WebDriver driver) {
+		return ENABLED ? new EventFiringDecorator(new MetricsListener()).decorate(driver) : driver;
+	}
+
+	public static void record(String action, String locator, long nanos) {
+		if (!ENABLED) {
+			return;
+		}
+		histogram(ACTIONS, action).record(nanos);
+		if (locator != null) {
+			histogram(LOCATORS, locator).record(nanos);
+		}
+		Context context = CONTEXT.get();
+		if (context != null) {
+			histogram(context.scenarioActions, action).record(nanos);
+			histogram(context.executionActions, action).record(nanos);
+			if (context.stepActions != null) {
+				histogram(context.stepActions, action).record(nanos);
+			}
+		}
+	}
+
+	static void startScenario(String scenario) {
+		CONTEXT.set(new Context(SCENARIO_ACTIONS.computeIfAbsent(scenario, key -> new ConcurrentHashMap<>())));
+	}
+
+	static void startStep(String step) {
+		Context context = CONTEXT.get();
+		if (context != null) {
+			context.stepActions = STEP_ACTIONS.computeIfAbsent(step, key -> new ConcurrentHashMap<>());
+		}
+	}
+
+	static void finishStep(String step, long nanos) {
+		histogram(STEP_DURATIONS, step).record(nanos);
+		Context context = CONTEXT.get();
+		if (context != null) {
+			context.stepActions = null;
+		}
+	}
+
+	static void finishScenario(String scenario, long nanos) {
+		histogram(SCENARIO_DURATIONS, scenario).record(nanos);
+		CONTEXT.remove();
+	}
+
+	public static String currentScenarioSummary(int limit) {
+		Context context = CONTEXT.get();
+		if (context == null) {
+			return "";
+		}
+		StringBuilder summary = new StringBuilder();
+		for (Map<String, Object> action : describe(context.executionActions, "action", limit)) {
+			summary.append(action).append(System.lineSeparator());
+		}
+		return summary.toString();
+	}
+
+	public static List<Map<String, Object>> slowestSteps(int limit) {
+		return describe(STEP_DURATIONS, "step", limit);
+	}
+
+	public static List<Map<String, Object>> slowestLocators(int limit) {
+		return describe(LOCATORS, "locator", limit);
+	}
+
+	static Map<String, Object> toJson() {
+		Map<String, Object> json = new LinkedHashMap<>();
+		json.put("actions", describe(ACTIONS, "action", Integer.MAX_VALUE));
+		json.put("locators", describe(LOCATORS, "locator", Integer.MAX_VALUE));
+		json.put("steps", describeGroups(STEP_DURATIONS, STEP_ACTIONS, "step"));
+		json.put("scenarios", describeGroups(SCENARIO_DURATIONS, SCENARIO_ACTIONS, "scenario"));
+		return json;
+	}
+
+	private static List<Map<String, Object>> describeGroups(Map<String, LatencyHistogram> durations, Map<String, Map<String, LatencyHistogram>> actions, String nameKey) {
+		List<Map<String, Object>> groups = new ArrayList<>();
+		for (Map<String, Object> group : describe(durations, nameKey, Integer.MAX_VALUE)) {
+			Map<String, LatencyHistogram> groupActions = actions.get(group.get(nameKey));
+			if (groupActions != null) {
+				group.put("actions", describe(groupActions, "action", Integer.MAX_VALUE));
+			}
+			groups.add(group);
+		}
+		return groups;
+	}
+
+	private static List<Map<String, Object>> describe(Map<String, LatencyHistogram> histograms, String nameKey, int limit) {
+		List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(histograms.entrySet());
+		entries.sort(Comparator.comparingDouble((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMillis()).reversed());
+		List<Map<String, Object>> described = new ArrayList<>();
+		for (Map.Entry<String, LatencyHistogram> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+			LatencyHistogram histogram = entry.getValue();
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put(nameKey, entry.getKey());
+			row.put("count", histogram.getCount());
+			row.put("totalMillis", round(histogram.getTotalMillis()));
+			row.put("p50Millis", round(histogram.getPercentileMillis(50)));
+			row.put("p95Millis", round(histogram.getPercentileMillis(95)));
+			row.put("p99Millis", round(histogram.getPercentileMillis(99)));
+			row.put("maxMillis", round(histogram.getMaxMillis()));
+			described.add(row);
+		}
+		return described;
+	}
+
+	private static double round(double millis) {
+		return Math.round(millis * 10) / 10.0;
+	}
+
+	private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, String key) {
+		LatencyHistogram histogram = histograms.get(key);
+		return histogram != null ? histogram : histograms.computeIfAbsent(key, name -> new LatencyHistogram());
+	}
+
+	private static final class Context {
+		private final Map<String, LatencyHistogram> scenarioActions;
+		private final Map<String, LatencyHistogram> executionActions = new HashMap<>();
+		private Map<String, LatencyHistogram> stepActions;
+
+		private Context(Map<String, LatencyHistogram> scenarioActions) {
+			this.scenarioActions = scenarioActions;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.inf.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that tells {@link ActionMetrics} which scenario and step each thread runs, and writes the
+ * metrics as JSON when the run finishes. The slowest steps and locators are also written next to it as a
+ * properties file that the masterthought report shows as classifications.
+ */
+public class ActionMetricsPlugin implements ConcurrentEventListener {
+	private static final Logger LOG = LogManager.getLogger(ActionMetricsPlugin.class.getName());
+	private static final int SLOWEST_LIMIT = 10;
+
+	private static final Map<String, String> RUN_CLASSIFICATIONS = new ConcurrentSkipListMap<>();
+
+	private final File jsonFile;
+
+	public ActionMetricsPlugin(File jsonFile) {
+		this.jsonFile = jsonFile;
+	}
+
+	public static void addClassification(String name, String value) {
+		RUN_CLASSIFICATIONS.put(name, value);
+	}
+
+	@Override
+	public void setEventPublisher(EventPublisher publisher) {
+		publisher.registerHandlerFor(TestCaseStarted.class, event -> ActionMetrics.startScenario(event.getTestCase().getName()));
+		publisher.registerHandlerFor(TestStepStarted.class, event -> {
+			if (event.getTestStep() instanceof PickleStepTestStep) {
+				ActionMetrics.startStep(stepName((PickleStepTestStep) event.getTestStep()));
+			}
+		});
+		publisher.registerHandlerFor(TestStepFinished.class, event -> {
+			if (event.getTestStep() instanceof PickleStepTestStep) {
+				ActionMetrics.finishStep(stepName((PickleStepTestStep) event.getTestStep()), event.getResult().getDuration().toNanos());
+			}
+		});
+		publisher.registerHandlerFor(TestCaseFinished.class,
+				event -> ActionMetrics.finishScenario(event.getTestCase().getName(), event.getResult().getDuration().toNanos()));
+		publisher.registerHandlerFor(TestRunFinished.class, event -> write());
+	}
+
+	private static String stepName(PickleStepTestStep testStep) {
+		return testStep.getStep().getKeyword() + testStep.getStep().getText();
+	}
+
+	private void write() {
+		try {
+			File directory = jsonFile.getAbsoluteFile().getParentFile();
+			Files.createDirectories(directory.toPath());
+			try (Writer writer = Files.newBufferedWriter(jsonFile.toPath(), StandardCharsets.UTF_8)) {
+				writer.write(new Json().toJson(ActionMetrics.toJson()));
+			}
+			Properties classifications = new Properties();
+			classifications.putAll(RUN_CLASSIFICATIONS);
+			addClassifications(classifications, "Slowest step", ActionMetrics.slowestSteps(SLOWEST_LIMIT), "step");
+			addClassifications(classifications, "Slowest locator", ActionMetrics.slowestLocators(SLOWEST_LIMIT), "locator");
+			try (OutputStream out = Files.newOutputStream(new File(directory, "action-metrics.properties").toPath())) {
+				classifications.store(out, "Action metrics classifications");
+			}
+		} catch (IOException e) {
+			LOG.info("Can not write action metrics to {}", jsonFile, e);
+		}
+	}
+
+	private static void addClassifications(Properties classifications, String prefix, List<Map<String, Object>> rows, String nameKey) {
+		int rank = 1;
+		for (Map<String, Object> row : rows) {
+			classifications.setProperty(String.format("%s %02d", prefix, rank++), String.format("%s - total %s ms, p95 %s ms, count %s", row.get(nameKey),
+					row.get("totalMillis"), row.get("p95Millis"), row.get("count")));
+		}
+	}
+}
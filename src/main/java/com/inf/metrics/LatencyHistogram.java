@@ -0,0 +1,87 @@
+package com.inf.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets: every power of two from 1 microsecond to about
+ * 70 minutes is split into 8 sub-buckets, so percentiles are accurate to within 12.5%.
+ */
+public final class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MIN_EXPONENT = 10;
+	private static final int MAX_EXPONENT = 42;
+	private static final int BUCKETS = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	public void record(long nanos) {
+		buckets.incrementAndGet(bucketIndex(nanos));
+		count.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public double getTotalMillis() {
+		return totalNanos.sum() / 1_000_000.0;
+	}
+
+	public double getMaxMillis() {
+		return maxNanos.get() / 1_000_000.0;
+	}
+
+	public double getPercentileMillis(double percentile) {
+		long total = 0;
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percentile / 100.0 * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(bucketMiddle(i), maxNanos.get()) / 1_000_000.0;
+			}
+		}
+		return getMaxMillis();
+	}
+
+	private static int bucketIndex(long nanos) {
+		if (nanos < (1L << MIN_EXPONENT)) {
+			return 0;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKETS - 1;
+		}
+		int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long bucketMiddle(int index) {
+		int exponent = index / SUB_BUCKETS + MIN_EXPONENT;
+		int subBucket = index % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		return (1L << exponent) + subBucket * width + width / 2;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count=%d total=%.1fms p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms", getCount(), getTotalMillis(), getPercentileMillis(50),
+				getPercentileMillis(95), getPercentileMillis(99), getMaxMillis());
+	}
+}
@@ -0,0 +1,77 @@
+package com.inf.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import com.inf.commons.Locator;
+
+/**
+ * Times every call made through a decorated driver and the objects it hands out. Elements are mapped back to
+ * the locator that found them so clicks and typing are counted against that locator too. Locators are counted
+ * by their template, so all the values bound to one locator share its figures.
+ */
+class MetricsListener implements WebDriverListener {
+	private static final ThreadLocal<Deque<Long>> STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+	private static final ThreadLocal<Map<WebElement, String>> ELEMENT_LOCATORS = ThreadLocal.withInitial(WeakHashMap::new);
+
+	@Override
+	public void beforeAnyCall(Object target, Method method, Object[] args) {
+		STARTS.get().push(System.nanoTime());
+	}
+
+	@Override
+	public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+		long nanos = System.nanoTime() - STARTS.get().pop();
+		String locator = locatorOf(target, args);
+		ActionMetrics.record(method.getName(), locator, nanos);
+		if (locator != null && method.getName().startsWith("findElement")) {
+			rememberLocator(result, locator);
+		}
+	}
+
+	@Override
+	public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+		long nanos = System.nanoTime() - STARTS.get().pop();
+		ActionMetrics.record(method.getName() + " (failed)", locatorOf(target, args), nanos);
+	}
+
+	private static String locatorOf(Object target, Object[] args) {
+		if (args != null && args.length > 0 && args[0] instanceof By) {
+			return Locator.templateOf((By) args[0]);
+		}
+		if (target instanceof WebElement) {
+			return ELEMENT_LOCATORS.get().get(target);
+		}
+		return null;
+	}
+
+	private static void rememberLocator(Object result, String locator) {
+		if (result instanceof WebElement) {
+			rememberElement((WebElement) result, locator);
+		} else if (result instanceof List) {
+			for (Object element : (List<?>) result) {
+				if (element instanceof WebElement) {
+					rememberElement((WebElement) element, locator);
+				}
+			}
+		}
+	}
+
+	private static void rememberElement(WebElement element, String locator) {
+		// Results arrive decorated while later calls report the original element, so both are mapped
+		ELEMENT_LOCATORS.get().put(element, locator);
+		if (element instanceof WrapsElement) {
+			ELEMENT_LOCATORS.get().put(((WrapsElement) element).getWrappedElement(), locator);
+		}
+	}
+}
@@ -0,0 +1,325 @@
+package com.inf.network;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import com.inf.commons.GlobalConstants;
+import com.inf.commons.PollingWait;
+import com.inf.commons.WaitStatistics;
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Tracks the requests in flight for the tab a driver was focused on when it was created, using the raw CDP
+ * Network events so it does not depend on one selenium-devtools version. Requests are matched against the
+ * include and exclude patterns when they start, and requests running longer than NetworkRequestMaxMillis
+ * (long polling, streaming) stop counting as in flight. Browsers without DevTools, and other tabs, fall back
+ * to checking document.readyState and jQuery.active.
+ */
+public final class NetworkTracker {
+	private static final Logger LOG = LogManager.getLogger(NetworkTracker.class.getName());
+	private static final Map<WebDriver, NetworkTracker> TRACKERS = new ConcurrentHashMap<>();
+	private static final boolean ENABLED = PropertyUtils.getBoolean("NetworkTracking", true);
+	private static final long QUIET_MILLIS = PropertyUtils.getLong("NetworkQuietMillis", GlobalConstants.NETWORK_QUIET_MILLIS);
+	private static final long REQUEST_MAX_MILLIS = PropertyUtils.getLong("NetworkRequestMaxMillis", GlobalConstants.NETWORK_REQUEST_MAX_MILLIS);
+	private static final int HISTORY_SIZE = 500;
+	private static final String READY_SCRIPT = "return document.readyState === 'complete' && (window.jQuery == null || jQuery.active === 0);";
+	private static final String RESOURCE_SCRIPT = "var pattern = new RegExp(arguments[0]);"
+			+ "var entries = performance.getEntriesByType('navigation').concat(performance.getEntriesByType('resource'));"
+			+ "for (var i = 0; i < entries.length; i++) { if (pattern.test(entries[i].name)) { return entries[i].name; } }"
+			+ "return null;";
+
+	private final WebDriver driver;
+	private final List<Pattern> includes = new ArrayList<>();
+	private final List<Pattern> excludes = new ArrayList<>();
+	private final Map<String, InFlightRequest> inFlight = new HashMap<>();
+	private final Deque<String> history = new ArrayDeque<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition activity = lock.newCondition();
+	private DevTools devTools;
+	private String trackedWindow;
+	private long lastActivityNanos = System.nanoTime();
+
+	private NetworkTracker(WebDriver driver) {
+		this.driver = driver;
+		resetFilters();
+	}
+
+	public static void start(WebDriver driver) {
+		NetworkTracker tracker = of(driver);
+		if (ENABLED && driver instanceof HasDevTools) {
+			tracker.attach();
+		}
+	}
+
+	public static NetworkTracker of(WebDriver driver) {
+		return TRACKERS.computeIfAbsent(driver, NetworkTracker::new);
+	}
+
+	public static void reset(WebDriver driver) {
+		NetworkTracker tracker = TRACKERS.get(driver);
+		if (tracker != null) {
+			tracker.reset();
+		}
+	}
+
+	public static void release(WebDriver driver) {
+		NetworkTracker tracker = TRACKERS.remove(driver);
+		if (tracker != null && tracker.devTools != null) {
+			try {
+				tracker.devTools.clearListeners();
+			} catch (WebDriverException e) {
+				LOG.debug("Can not clear the DevTools listeners", e);
+			}
+		}
+	}
+
+	public boolean isAttached() {
+		return devTools != null;
+	}
+
+	public void include(String urlRegex) {
+		lock.lock();
+		try {
+			includes.add(Pattern.compile(urlRegex));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void exclude(String urlRegex) {
+		lock.lock();
+		try {
+			excludes.add(Pattern.compile(urlRegex));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void waitForNetworkIdle(long timeoutSeconds) {
+		if (!isTrackingCurrentWindow()) {
+			new PollingWait(driver, timeoutSeconds).until("document ready", currentDriver -> (Boolean) ((JavascriptExecutor) currentDriver).executeScript(READY_SCRIPT));
+			return;
+		}
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		long quietNanos = TimeUnit.MILLISECONDS.toNanos(QUIET_MILLIS);
+		lock.lock();
+		try {
+			while (true) {
+				long now = System.nanoTime();
+				long nextExpiry = pruneExpired(now);
+				// Quiet time is counted from the call too, so requests the last action has not started yet are waited for
+				long quietLeft = Math.max(lastActivityNanos, start) + quietNanos - now;
+				if (inFlight.isEmpty() && quietLeft <= 0) {
+					WaitStatistics.record("network idle", now - start, true);
+					return;
+				}
+				long remaining = deadline - now;
+				if (remaining <= 0) {
+					WaitStatistics.record("network idle", now - start, false);
+					throw new TimeoutException("Network was not idle after " + timeoutSeconds + " seconds, requests in flight: " + describeInFlight());
+				}
+				awaitNanos(Math.min(remaining, inFlight.isEmpty() ? quietLeft : nextExpiry - now));
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public String waitForRequest(String urlRegex, long timeoutSeconds) {
+		if (!isTrackingCurrentWindow()) {
+			return new PollingWait(driver, timeoutSeconds).until("request " + urlRegex,
+					currentDriver -> (String) ((JavascriptExecutor) currentDriver).executeScript(RESOURCE_SCRIPT, urlRegex));
+		}
+		Pattern pattern = Pattern.compile(urlRegex);
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		lock.lock();
+		try {
+			while (true) {
+				Iterator<String> urls = history.iterator();
+				while (urls.hasNext()) {
+					String url = urls.next();
+					if (pattern.matcher(url).find()) {
+						// Each recorded request satisfies one wait, so repeated waits see repeated requests
+						urls.remove();
+						WaitStatistics.record("network request", System.nanoTime() - start, true);
+						return url;
+					}
+				}
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					WaitStatistics.record("network request", System.nanoTime() - start, false);
+					throw new TimeoutException("No request matching " + urlRegex + " after " + timeoutSeconds + " seconds");
+				}
+				awaitNanos(remaining);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void attach() {
+		try {
+			DevTools tools = ((HasDevTools) driver).getDevTools();
+			tools.createSessionIfThereIsNotOne();
+			tools.addListener(new Event<>("Network.requestWillBeSent", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)), this::onRequestStarted);
+			tools.addListener(new Event<>("Network.loadingFinished", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)), this::onRequestEnded);
+			tools.addListener(new Event<>("Network.loadingFailed", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)), this::onRequestEnded);
+			tools.send(new Command<>("Network.enable", Map.of()));
+			trackedWindow = driver.getWindowHandle();
+			devTools = tools;
+		} catch (WebDriverException e) {
+			LOG.info("DevTools is not available, network idle falls back to the document ready check", e);
+		}
+	}
+
+	private boolean isTrackingCurrentWindow() {
+		return devTools != null && trackedWindow.equals(driver.getWindowHandle());
+	}
+
+	@SuppressWarnings("unchecked")
+	private void onRequestStarted(Map<String, Object> params) {
+		lock.lock();
+		try {
+			String url = String.valueOf(((Map<String, Object>) params.get("request")).get("url"));
+			if (!isTracked(url)) {
+				return;
+			}
+			inFlight.put(String.valueOf(params.get("requestId")), new InFlightRequest(url, System.nanoTime()));
+			history.addLast(url);
+			if (history.size() > HISTORY_SIZE) {
+				history.removeFirst();
+			}
+			lastActivityNanos = System.nanoTime();
+			activity.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void onRequestEnded(Map<String, Object> params) {
+		lock.lock();
+		try {
+			if (inFlight.remove(String.valueOf(params.get("requestId"))) != null) {
+				lastActivityNanos = System.nanoTime();
+				activity.signalAll();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private boolean isTracked(String url) {
+		if (url.startsWith("data:")) {
+			return false;
+		}
+		for (Pattern exclude : excludes) {
+			if (exclude.matcher(url).find()) {
+				return false;
+			}
+		}
+		if (includes.isEmpty()) {
+			return true;
+		}
+		for (Pattern include : includes) {
+			if (include.matcher(url).find()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private long pruneExpired(long now) {
+		long maxNanos = TimeUnit.MILLISECONDS.toNanos(REQUEST_MAX_MILLIS);
+		long nextExpiry = Long.MAX_VALUE;
+		Iterator<InFlightRequest> requests = inFlight.values().iterator();
+		while (requests.hasNext()) {
+			long expiry = requests.next().startNanos + maxNanos;
+			if (expiry <= now) {
+				requests.remove();
+			} else {
+				nextExpiry = Math.min(nextExpiry, expiry);
+			}
+		}
+		return nextExpiry;
+	}
+
+	private String describeInFlight() {
+		List<String> urls = new ArrayList<>();
+		for (InFlightRequest request : inFlight.values()) {
+			urls.add(request.url);
+			if (urls.size() == 5) {
+				break;
+			}
+		}
+		return inFlight.size() + " " + urls;
+	}
+
+	private void awaitNanos(long nanos) {
+		try {
+			activity.awaitNanos(Math.max(nanos, 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebDriverException("Interrupted while waiting for the network", e);
+		}
+	}
+
+	private void reset() {
+		lock.lock();
+		try {
+			inFlight.clear();
+			history.clear();
+			resetFilters();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void resetFilters() {
+		includes.clear();
+		excludes.clear();
+		for (String include : PropertyUtils.getValue("NetworkInclude", "").split(",")) {
+			if (!include.isBlank()) {
+				includes.add(Pattern.compile(include.trim()));
+			}
+		}
+		for (String exclude : PropertyUtils.getValue("NetworkExclude", "").split(",")) {
+			if (!exclude.isBlank()) {
+				excludes.add(Pattern.compile(exclude.trim()));
+			}
+		}
+	}
+
+	private static final class InFlightRequest {
+		private final String url;
+		private final long startNanos;
+
+		private InFlightRequest(String url, long startNanos) {
+			this.url = url;
+			this.startNanos = startNanos;
+		}
+	}
+}
@@ -0,0 +1,299 @@
+package com.inf.network;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Blocks and stubs requests of one browser through DevTools. Blocking by URL uses Network.setBlockedURLs so the
+ * browser drops requests itself. Only stubbed URL patterns and blocked resource types are paused with the Fetch
+ * domain, to be answered or failed, so requests that are neither blocked nor stubbed are not slowed down. The profile from {@link ResourceProfile} is applied
+ * when the browser is created; patterns added with {@link #block(String)} and {@link #stub} last one scenario.
+ */
+public final class RequestShaper {
+	private static final Logger LOG = LogManager.getLogger(RequestShaper.class.getName());
+	private static final Map<WebDriver, RequestShaper> SHAPERS = new ConcurrentHashMap<>();
+	private static final boolean ENABLED = PropertyUtils.getBoolean("RequestShaping", true);
+	private static final ResourceProfile PROFILE = ResourceProfile.fromProperty();
+
+	private final WebDriver driver;
+	private final List<String> blockedPatterns = new CopyOnWriteArrayList<>();
+	private final List<String> blockedResourceTypes = new CopyOnWriteArrayList<>();
+	private final List<Stub> stubs = new CopyOnWriteArrayList<>();
+	private final Map<String, String> requestUrls = new ConcurrentHashMap<>();
+	private final Set<String> stubbedRequestIds = ConcurrentHashMap.newKeySet();
+	private final Set<String> failedRequestIds = ConcurrentHashMap.newKeySet();
+	private final LongAdder blockedRequests = new LongAdder();
+	private final LongAdder stubbedRequests = new LongAdder();
+	private final LongAdder savedBytes = new LongAdder();
+	private final LongAdder unknownSizeRequests = new LongAdder();
+	private DevTools devTools;
+
+	private RequestShaper(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	public static void start(WebDriver driver) {
+		if (ENABLED && driver instanceof HasDevTools) {
+			of(driver).attach();
+		}
+	}
+
+	public static RequestShaper of(WebDriver driver) {
+		return SHAPERS.computeIfAbsent(driver, RequestShaper::new);
+	}
+
+	public static void reset(WebDriver driver) {
+		RequestShaper shaper = SHAPERS.get(driver);
+		if (shaper != null && shaper.devTools != null) {
+			shaper.takeSavings();
+			shaper.requestUrls.clear();
+			shaper.stubbedRequestIds.clear();
+			shaper.failedRequestIds.clear();
+			shaper.applyProfile();
+		}
+	}
+
+	public static void release(WebDriver driver) {
+		SHAPERS.remove(driver);
+	}
+
+	public static void saveResourceSizes() {
+		ResourceSizes.save();
+	}
+
+	public static ResourceProfile getProfile() {
+		return PROFILE;
+	}
+
+	public boolean isAttached() {
+		return devTools != null;
+	}
+
+	public void block(String urlPattern) {
+		blockedPatterns.add(urlPattern);
+		sendBlockedUrls();
+	}
+
+	public void stub(String urlPattern, int status, String contentType, String body) {
+		stubs.add(new Stub(urlPattern, status, contentType, body));
+		sendFetchPatterns();
+	}
+
+	public Savings takeSavings() {
+		return new Savings(blockedRequests.sumThenReset(), stubbedRequests.sumThenReset(), savedBytes.sumThenReset(), unknownSizeRequests.sumThenReset());
+	}
+
+	private void attach() {
+		try {
+			DevTools tools = ((HasDevTools) driver).getDevTools();
+			tools.createSessionIfThereIsNotOne();
+			tools.addListener(new Event<>("Network.requestWillBeSent", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)), this::onRequestStarted);
+			tools.addListener(new Event<>("Network.loadingFinished", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)), this::onRequestFinished);
+			tools.addListener(new Event<>("Network.loadingFailed", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)), this::onRequestFailed);
+			tools.addListener(new Event<>("Fetch.requestPaused", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)), this::onRequestPaused);
+			tools.send(new Command<>("Network.enable", Map.of()));
+			devTools = tools;
+			applyProfile();
+			LOG.info("*** Resource profile {} applied ***", PROFILE);
+		} catch (WebDriverException e) {
+			devTools = null;
+			LOG.info("DevTools is not available, requests will not be blocked or stubbed", e);
+		}
+	}
+
+	private void applyProfile() {
+		blockedPatterns.clear();
+		blockedPatterns.addAll(PROFILE.getBlockedPatterns());
+		blockedResourceTypes.clear();
+		blockedResourceTypes.addAll(PROFILE.getBlockedResourceTypes());
+		stubs.clear();
+		for (String pattern : PROFILE.getStubbedScriptPatterns()) {
+			stubs.add(new Stub(pattern, 200, "application/javascript", ""));
+		}
+		sendBlockedUrls();
+		sendFetchPatterns();
+	}
+
+	private void sendBlockedUrls() {
+		if (devTools != null) {
+			devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", new ArrayList<>(blockedPatterns))));
+		}
+	}
+
+	private void sendFetchPatterns() {
+		if (devTools == null) {
+			return;
+		}
+		if (stubs.isEmpty() && blockedResourceTypes.isEmpty()) {
+			devTools.send(new Command<>("Fetch.disable", Map.of()));
+			return;
+		}
+		List<Map<String, Object>> patterns = new ArrayList<>();
+		for (Stub stub : stubs) {
+			patterns.add(Map.of("urlPattern", stub.urlPattern, "requestStage", "Request"));
+		}
+		for (String resourceType : blockedResourceTypes) {
+			patterns.add(Map.of("urlPattern", "*", "resourceType", resourceType, "requestStage", "Request"));
+		}
+		devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void onRequestStarted(Map<String, Object> params) {
+		requestUrls.put(String.valueOf(params.get("requestId")), String.valueOf(((Map<String, Object>) params.get("request")).get("url")));
+	}
+
+	private void onRequestFinished(Map<String, Object> params) {
+		String requestId = String.valueOf(params.get("requestId"));
+		String url = requestUrls.remove(requestId);
+		// Stubbed responses would teach the size of the stub instead of the real resource
+		if (url != null && !stubbedRequestIds.remove(requestId) && params.get("encodedDataLength") instanceof Number) {
+			ResourceSizes.record(url, ((Number) params.get("encodedDataLength")).longValue());
+		}
+	}
+
+	private void onRequestFailed(Map<String, Object> params) {
+		String requestId = String.valueOf(params.get("requestId"));
+		String url = requestUrls.remove(requestId);
+		// Requests failed by resource type were counted when they were paused
+		if (url != null && !failedRequestIds.remove(requestId) && params.get("blockedReason") != null) {
+			blockedRequests.increment();
+			addSavedBytes(url, 0);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void onRequestPaused(Map<String, Object> params) {
+		String requestId = String.valueOf(params.get("requestId"));
+		String url = String.valueOf(((Map<String, Object>) params.get("request")).get("url"));
+		try {
+			for (Stub stub : stubs) {
+				if (stub.pattern.matcher(url).matches()) {
+					if (params.get("networkId") != null) {
+						stubbedRequestIds.add(String.valueOf(params.get("networkId")));
+					}
+					devTools.send(new Command<>("Fetch.fulfillRequest", Map.of(
+							"requestId", requestId,
+							"responseCode", stub.status,
+							"responseHeaders", List.of(Map.of("name", "Content-Type", "value", stub.contentType)),
+							"body", stub.encodedBody)));
+					stubbedRequests.increment();
+					addSavedBytes(url, stub.bodyLength);
+					return;
+				}
+			}
+			if (blockedResourceTypes.contains(String.valueOf(params.get("resourceType")))) {
+				if (params.get("networkId") != null) {
+					failedRequestIds.add(String.valueOf(params.get("networkId")));
+				}
+				devTools.send(new Command<>("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+				blockedRequests.increment();
+				addSavedBytes(url, 0);
+				return;
+			}
+			devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+		} catch (WebDriverException e) {
+			LOG.debug("Can not answer paused request {}", url, e);
+		}
+	}
+
+	private void addSavedBytes(String url, long replacementBytes) {
+		Long size = ResourceSizes.get(url);
+		if (size == null) {
+			unknownSizeRequests.increment();
+		} else {
+			savedBytes.add(Math.max(0, size - replacementBytes));
+		}
+	}
+
+	private static Pattern wildcard(String urlPattern) {
+		StringBuilder regex = new StringBuilder();
+		for (char c : urlPattern.toCharArray()) {
+			if (c == '*') {
+				regex.append(".*");
+			} else if (c == '?') {
+				regex.append('.');
+			} else if (Character.isLetterOrDigit(c)) {
+				regex.append(c);
+			} else {
+				regex.append('\\').append(c);
+			}
+		}
+		return Pattern.compile(regex.toString());
+	}
+
+	public static final class Savings {
+		private final long blockedRequests;
+		private final long stubbedRequests;
+		private final long savedBytes;
+		private final long unknownSizeRequests;
+
+		private Savings(long blockedRequests, long stubbedRequests, long savedBytes, long unknownSizeRequests) {
+			this.blockedRequests = blockedRequests;
+			this.stubbedRequests = stubbedRequests;
+			this.savedBytes = savedBytes;
+			this.unknownSizeRequests = unknownSizeRequests;
+		}
+
+		public long getBlockedRequests() {
+			return blockedRequests;
+		}
+
+		public long getStubbedRequests() {
+			return stubbedRequests;
+		}
+
+		public long getSavedBytes() {
+			return savedBytes;
+		}
+
+		public long getUnknownSizeRequests() {
+			return unknownSizeRequests;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("blocked %d requests, stubbed %d requests, saved about %.1f KB (%d requests of unknown size)", blockedRequests, stubbedRequests,
+					savedBytes / 1024.0, unknownSizeRequests);
+		}
+	}
+
+	private static final class Stub {
+		private final String urlPattern;
+		private final Pattern pattern;
+		private final int status;
+		private final String contentType;
+		private final String encodedBody;
+		private final long bodyLength;
+
+		private Stub(String urlPattern, int status, String contentType, String body) {
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			this.urlPattern = urlPattern;
+			this.pattern = wildcard(urlPattern);
+			this.status = status;
+			this.contentType = contentType;
+			this.encodedBody = Base64.getEncoder().encodeToString(bytes);
+			this.bodyLength = bytes.length;
+		}
+	}
+}
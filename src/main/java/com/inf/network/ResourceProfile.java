@@ -0,0 +1,67 @@
+package com.inf.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Request shaping applied to every pooled browser, selected with -DResourceProfile. FULL loads everything,
+ * NO_MEDIA blocks images, video, audio and web fonts, and LEAN also blocks ad networks and answers analytics
+ * scripts with an empty script so pages calling them keep working. Media is blocked by the resource type the
+ * browser gives the request, so an image served without an extension is blocked and a page whose URL merely
+ * contains ".png" is not. Patterns use the DevTools wildcard syntax.
+ */
+public enum ResourceProfile {
+	FULL(false, false),
+	NO_MEDIA(true, false),
+	LEAN(true, true);
+
+	private static final List<String> MEDIA_RESOURCE_TYPES = Arrays.asList("Image", "Media", "Font");
+	private static final List<String> AD_PATTERNS = Arrays.asList("*doubleclick.net*", "*googlesyndication.com*", "*adservice.google.*",
+			"*amazon-adsystem.com*", "*adnxs.com*", "*criteo.com*", "*taboola.com*", "*outbrain.com*");
+	private static final List<String> ANALYTICS_PATTERNS = Arrays.asList("*://www.google-analytics.com/*", "*://www.googletagmanager.com/*",
+			"*://connect.facebook.net/*");
+
+	private final boolean blockMedia;
+	private final boolean blockThirdParty;
+
+	ResourceProfile(boolean blockMedia, boolean blockThirdParty) {
+		this.blockMedia = blockMedia;
+		this.blockThirdParty = blockThirdParty;
+	}
+
+	public static ResourceProfile fromProperty() {
+		String name = PropertyUtils.getValue("ResourceProfile", FULL.name());
+		try {
+			return valueOf(name.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("ResourceProfile must be one of " + Arrays.toString(values()) + " but was: " + name, e);
+		}
+	}
+
+	public List<String> getBlockedPatterns() {
+		List<String> patterns = new ArrayList<>();
+		if (blockThirdParty) {
+			patterns.addAll(AD_PATTERNS);
+		}
+		for (String pattern : PropertyUtils.getValue("BlockUrls", "").split(",")) {
+			if (!pattern.isBlank()) {
+				patterns.add(pattern.trim());
+			}
+		}
+		return patterns;
+	}
+
+	/** DevTools Network.ResourceType names of the requests to fail. */
+	public List<String> getBlockedResourceTypes() {
+		return blockMedia ? MEDIA_RESOURCE_TYPES : Collections.emptyList();
+	}
+
+	public List<String> getStubbedScriptPatterns() {
+		return blockThirdParty ? ANALYTICS_PATTERNS : Collections.emptyList();
+	}
+}
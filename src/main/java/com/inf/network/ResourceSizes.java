@@ -0,0 +1,95 @@
+package com.inf.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Transfer sizes learned from runs where a resource was loaded, used to estimate what blocking it saves.
+ * Sizes are keyed by URL without query string and kept between runs in ResourceSizeFile.
+ */
+final class ResourceSizes {
+	private static final Logger LOG = LogManager.getLogger(ResourceSizes.class.getName());
+	private static final Path FILE = Paths.get(PropertyUtils.getValue("ResourceSizeFile",
+			Paths.get(System.getProperty("user.home"), ".cache", "mvn-cucumber-framework", "resource-sizes.properties").toString()));
+	private static final int MAX_ENTRIES = 20000;
+	private static final Map<String, Long> SIZES = load();
+	private static volatile boolean changed;
+
+	private ResourceSizes() {
+	}
+
+	static void record(String url, long bytes) {
+		if (bytes <= 0 || SIZES.size() >= MAX_ENTRIES) {
+			return;
+		}
+		Long previous = SIZES.put(key(url), bytes);
+		if (previous == null || previous != bytes) {
+			changed = true;
+		}
+	}
+
+	static Long get(String url) {
+		return SIZES.get(key(url));
+	}
+
+	static synchronized void save() {
+		if (!changed) {
+			return;
+		}
+		Properties properties = new Properties();
+		for (Map.Entry<String, Long> size : SIZES.entrySet()) {
+			properties.setProperty(size.getKey(), String.valueOf(size.getValue()));
+		}
+		try {
+			Files.createDirectories(FILE.getParent());
+			try (OutputStream out = Files.newOutputStream(FILE)) {
+				properties.store(out, "Resource transfer sizes in bytes");
+			}
+			changed = false;
+		} catch (IOException e) {
+			LOG.info("Can not save resource sizes to {}", FILE, e);
+		}
+	}
+
+	private static Map<String, Long> load() {
+		Map<String, Long> sizes = new ConcurrentHashMap<>();
+		if (!Files.isRegularFile(FILE)) {
+			return sizes;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(FILE)) {
+			properties.load(in);
+			for (String url : properties.stringPropertyNames()) {
+				sizes.put(url, Long.parseLong(properties.getProperty(url)));
+			}
+		} catch (IOException | NumberFormatException e) {
+			LOG.info("Can not load resource sizes from {}", FILE, e);
+		}
+		return sizes;
+	}
+
+	private static String key(String url) {
+		int end = url.length();
+		int query = url.indexOf('?');
+		int fragment = url.indexOf('#');
+		if (query >= 0) {
+			end = query;
+		}
+		if (fragment >= 0 && fragment < end) {
+			end = fragment;
+		}
+		return url.substring(0, end);
+	}
+}
@@ -0,0 +1,27 @@
+package com.inf.pageobjects;
+
+import org.openqa.selenium.WebDriver;
+
+import com.inf.commons.BasePage;
+import com.inf.pageui.HomePageLocators;
+
+public class HomePageObject extends BasePage {
+	private final WebDriver driver;
+
+	public HomePageObject(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	public boolean isManagerIDDisplayed() {
+		// Waits the short timeout at most, so a rejected session is noticed quickly
+		return !isElementUndisplayed(driver, HomePageLocators.MANAGER_ID_TEXT);
+	}
+
+	public String getManagerIDText() {
+		return getElementText(driver, HomePageLocators.MANAGER_ID_TEXT);
+	}
+
+	public void clickToMenuLink(String menuName) {
+		clickToElement(driver, HomePageLocators.menuLink(menuName));
+	}
+}
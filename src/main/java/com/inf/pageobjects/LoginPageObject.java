@@ -0,0 +1,46 @@
+package com.inf.pageobjects;
+
+import org.openqa.selenium.WebDriver;
+
+import com.inf.commons.BasePage;
+import com.inf.commons.GlobalConstants;
+import com.inf.fixture.SiteResolver;
+import com.inf.pageui.LoginPageLocators;
+import com.inf.session.SessionCache;
+
+public class LoginPageObject extends BasePage {
+	private final WebDriver driver;
+
+	public LoginPageObject(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	public void openLoginPage() {
+		openPageURL(driver, GlobalConstants.BANK_GURU_URL);
+	}
+
+	public void inputToUserIDTextbox(String userID) {
+		sendkeyToElement(driver, LoginPageLocators.USER_ID_TEXTBOX, userID);
+	}
+
+	public void inputToPasswordTextbox(String password) {
+		sendkeyToElement(driver, LoginPageLocators.PASSWORD_TEXTBOX, password);
+	}
+
+	public HomePageObject clickToLoginButton() {
+		clickToElement(driver, LoginPageLocators.LOGIN_BUTTON);
+		return new HomePageObject(driver);
+	}
+
+	/** Logs in through the form once per user and restores that session in later scenarios. */
+	public HomePageObject loginAs(String userID, String password) {
+		HomePageObject homePage = new HomePageObject(driver);
+		SessionCache.login(driver, userID, SiteResolver.resolve(GlobalConstants.BANK_GURU_URL), browser -> {
+			openLoginPage();
+			inputToUserIDTextbox(userID);
+			inputToPasswordTextbox(password);
+			clickToLoginButton();
+		}, browser -> homePage.isManagerIDDisplayed());
+		return homePage;
+	}
+}
@@ -0,0 +1,39 @@
+package com.inf.pageobjects;
+
+import org.openqa.selenium.WebDriver;
+
+import com.inf.commons.BasePage;
+import com.inf.commons.FormData;
+import com.inf.pageui.RegisterPageLocators;
+
+public class RegisterPageObject extends BasePage {
+	private final WebDriver driver;
+
+	public RegisterPageObject(WebDriver driver) {
+		this.driver = driver;
+	}
+
+	/** Gender is "m" or "f"; the date of birth is typed, since date inputs only parse real key presses reliably. */
+	public void inputCustomerForm(String name, String gender, String dateOfBirth, String address, String city, String state, String pin, String phone,
+			String email, String password) {
+		fillForm(driver, new FormData()
+				.set(RegisterPageLocators.CUSTOMER_NAME_TEXTBOX, name)
+				.set(RegisterPageLocators.GENDER_RADIO, gender)
+				.type(RegisterPageLocators.DATE_OF_BIRTH_TEXTBOX, dateOfBirth)
+				.set(RegisterPageLocators.ADDRESS_TEXTAREA, address)
+				.set(RegisterPageLocators.CITY_TEXTBOX, city)
+				.set(RegisterPageLocators.STATE_TEXTBOX, state)
+				.set(RegisterPageLocators.PIN_TEXTBOX, pin)
+				.set(RegisterPageLocators.PHONE_TEXTBOX, phone)
+				.set(RegisterPageLocators.EMAIL_TEXTBOX, email)
+				.set(RegisterPageLocators.PASSWORD_TEXTBOX, password));
+	}
+
+	public String getValidationMessage(String fieldName) {
+		return getElementText(driver, RegisterPageLocators.validationMessage(fieldName));
+	}
+
+	public void clickToSubmitButton() {
+		clickToElement(driver, RegisterPageLocators.SUBMIT_BUTTON);
+	}
+}
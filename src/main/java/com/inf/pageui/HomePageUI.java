@@ -1,5 +1,10 @@
 package com.inf.pageui;
 
-public class HomePageUI {
+import com.inf.processor.GenerateLocators;
 
+@GenerateLocators
+public class HomePageUI {
+	public static final String MANAGER_ID_TEXT = "xpath=//tr[@class='heading3']/td[contains(text(),'Manger Id')]";
+	public static final String WELCOME_MESSAGE = "css=marquee.heading3";
+	public static final String MENU_LINK = "xpath=//ul[@class='menusubnav']//a[text()='%s']";
 }
@@ -1,5 +1,11 @@
 package com.inf.pageui;
 
-public class LoginPageUI {
+import com.inf.processor.GenerateLocators;
 
+@GenerateLocators
+public class LoginPageUI {
+	public static final String USER_ID_TEXTBOX = "name=uid";
+	public static final String PASSWORD_TEXTBOX = "name=password";
+	public static final String LOGIN_BUTTON = "name=btnLogin";
+	public static final String RESET_BUTTON = "name=btnReset";
 }
@@ -1,5 +1,19 @@
 package com.inf.pageui;
 
-public class RegisterPageUI {
+import com.inf.processor.GenerateLocators;
 
+@GenerateLocators
+public class RegisterPageUI {
+	public static final String CUSTOMER_NAME_TEXTBOX = "name=name";
+	public static final String GENDER_RADIO = "name=rad1";
+	public static final String DATE_OF_BIRTH_TEXTBOX = "name=dob";
+	public static final String ADDRESS_TEXTAREA = "name=addr";
+	public static final String CITY_TEXTBOX = "name=city";
+	public static final String STATE_TEXTBOX = "name=state";
+	public static final String PIN_TEXTBOX = "name=pinno";
+	public static final String PHONE_TEXTBOX = "name=telephoneno";
+	public static final String EMAIL_TEXTBOX = "name=emailid";
+	public static final String PASSWORD_TEXTBOX = "name=password";
+	public static final String SUBMIT_BUTTON = "name=sub";
+	public static final String VALIDATION_MESSAGE = "xpath=//*[self::input or self::textarea][@name='%s']/following-sibling::label";
 }
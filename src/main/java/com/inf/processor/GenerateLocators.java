@@ -0,0 +1,16 @@
+package com.inf.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a pageui class whose String constants are locators. {@link LocatorProcessor} validates them during
+ * compilation and generates a sibling class, FooPageUI becoming FooPageLocators, holding each one as a
+ * precompiled Locator constant, or as a method taking one String per "%s" when the locator is dynamic.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateLocators {
+}
@@ -0,0 +1,241 @@
+package com.inf.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * Validates the locator constants of {@link GenerateLocators} classes and writes the precompiled locator class
+ * for each. The syntax rules are those of Locator.compile: a strategy prefix (xpath=, css=, id=, name=,
+ * class=, or the legacy XPATH form) and "%s" placeholders with "%%" for a literal percent sign. XPath is
+ * compiled with the JDK's XPath 1.0 engine, the version browsers implement; CSS gets a bracket and quote
+ * balance check. Any problem is a compile error on the constant.
+ */
+@SupportedAnnotationTypes("com.inf.processor.GenerateLocators")
+public class LocatorProcessor extends AbstractProcessor {
+	private static final String PLACEHOLDER_SAMPLE = "x";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(GenerateLocators.class)) {
+			if (element.getKind() == ElementKind.CLASS) {
+				generate((TypeElement) element);
+			}
+		}
+		return true;
+	}
+
+	private void generate(TypeElement type) {
+		List<String> constants = new ArrayList<>();
+		List<String> methods = new ArrayList<>();
+		boolean valid = true;
+		for (Element member : type.getEnclosedElements()) {
+			if (member.getKind() != ElementKind.FIELD || !member.getModifiers().containsAll(Set.of(Modifier.STATIC, Modifier.FINAL))) {
+				continue;
+			}
+			Object value = ((VariableElement) member).getConstantValue();
+			if (!(value instanceof String)) {
+				continue;
+			}
+			String name = member.getSimpleName().toString();
+			String[] parsed = parse((String) value);
+			String problem = parsed == null ? "has no xpath=, css=, id=, name= or class= prefix" : validate(parsed[0], parsed[1]);
+			if (problem != null) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Locator " + type.getSimpleName() + "." + name + " " + problem + ": " + value, member);
+				valid = false;
+				continue;
+			}
+			List<String> segments = splitTemplate(parsed[1]);
+			String declaration = "Locator.precompiled(Strategy." + parsed[0] + ", " + literal(parsed[1]) + joinLiterals(segments) + ")";
+			String comment = "\t/** " + ((String) value).replace("*/", "*&#47;") + " */\n";
+			if (segments.size() == 1) {
+				constants.add(comment + "\tpublic static final Locator " + name + " = " + declaration + ";\n");
+			} else {
+				constants.add("\tprivate static final Locator " + name + " = " + declaration + ";\n");
+				methods.add(comment + "\tpublic static Locator " + toMethodName(name) + "(" + parameters(segments.size() - 1) + ") {\n\t\treturn " + name + ".bind("
+						+ arguments(segments.size() - 1) + ");\n\t}\n");
+			}
+		}
+		if (valid) {
+			write(type, constants, methods);
+		}
+	}
+
+	private void write(TypeElement type, List<String> constants, List<String> methods) {
+		String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+		String simpleName = type.getSimpleName().toString().replaceFirst("UI$", "") + "Locators";
+		StringBuilder source = new StringBuilder();
+		source.append("package ").append(packageName).append(";\n\n");
+		source.append("import javax.annotation.processing.Generated;\n\n");
+		source.append("import com.inf.commons.Locator;\n");
+		source.append("import com.inf.commons.Locator.Strategy;\n\n");
+		source.append("/** Locators of {@link ").append(type.getSimpleName()).append("}, validated and precompiled at build time. */\n");
+		source.append("@Generated(\"").append(LocatorProcessor.class.getName()).append("\")\n");
+		source.append("public final class ").append(simpleName).append(" {\n");
+		constants.forEach(source::append);
+		source.append("\n\tprivate ").append(simpleName).append("() {\n\t}\n");
+		for (String method : methods) {
+			source.append('\n').append(method);
+		}
+		source.append("}\n");
+		try (Writer writer = processingEnv.getFiler().createSourceFile(packageName + "." + simpleName, type).openWriter()) {
+			writer.write(source.toString());
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can not write " + simpleName + ": " + e.getMessage(), type);
+		}
+	}
+
+	/** Returns {strategy name, expression}, or null when the prefix is unknown. */
+	static String[] parse(String locatorType) {
+		int separator = locatorType.indexOf('=');
+		String prefix = separator > 0 ? locatorType.substring(0, separator).toLowerCase(Locale.ROOT) : "";
+		switch (prefix) {
+		case "xpath":
+		case "css":
+		case "id":
+		case "name":
+		case "class":
+			return new String[] { prefix.toUpperCase(Locale.ROOT), locatorType.substring(separator + 1) };
+		default:
+			return locatorType.startsWith("XPATH") ? new String[] { "XPATH", locatorType.substring(6) } : null;
+		}
+	}
+
+	static String validate(String strategy, String expression) {
+		if (expression.isBlank()) {
+			return "has an empty expression";
+		}
+		if (expression.replace("%%", "").replace("%s", "").indexOf('%') >= 0) {
+			return "has a '%' that is neither a %s placeholder nor escaped as %%";
+		}
+		String sample = String.join(PLACEHOLDER_SAMPLE, splitTemplate(expression));
+		switch (strategy) {
+		case "XPATH":
+			try {
+				XPathFactory.newInstance().newXPath().compile(sample);
+				return null;
+			} catch (XPathExpressionException e) {
+				return "is not valid XPath 1.0 (" + (e.getCause() == null ? e.getMessage() : e.getCause().getMessage()) + ")";
+			}
+		case "CSS":
+			return isBalanced(sample) ? null : "has unbalanced brackets or quotes";
+		case "CLASS":
+			return sample.trim().contains(" ") ? "names several classes, which By.className does not support; use css=" : null;
+		default:
+			return null;
+		}
+	}
+
+	/** Same split as Locator at runtime; only called once validate has ruled out any other '%'. */
+	static List<String> splitTemplate(String expression) {
+		List<String> segments = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		for (int i = 0; i < expression.length(); i++) {
+			char c = expression.charAt(i);
+			if (c != '%') {
+				current.append(c);
+				continue;
+			}
+			char next = i + 1 < expression.length() ? expression.charAt(i + 1) : 0;
+			if (next == 's') {
+				segments.add(current.toString());
+				current.setLength(0);
+			} else if (next == '%') {
+				current.append('%');
+			} else {
+				throw new IllegalArgumentException("'%' at index " + i + " is neither a %s placeholder nor escaped as %%");
+			}
+			i++;
+		}
+		segments.add(current.toString());
+		return segments;
+	}
+
+	private static boolean isBalanced(String css) {
+		List<Character> open = new ArrayList<>();
+		char quote = 0;
+		for (int i = 0; i < css.length(); i++) {
+			char c = css.charAt(i);
+			if (quote != 0) {
+				if (c == '\\') {
+					i++;
+				} else if (c == quote) {
+					quote = 0;
+				}
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+			} else if (c == '[' || c == '(') {
+				open.add(c);
+			} else if (c == ']' || c == ')') {
+				if (open.isEmpty() || open.remove(open.size() - 1) != (c == ']' ? '[' : '(')) {
+					return false;
+				}
+			}
+		}
+		return quote == 0 && open.isEmpty();
+	}
+
+	private String literal(String value) {
+		return processingEnv.getElementUtils().getConstantExpression(value);
+	}
+
+	private String joinLiterals(List<String> segments) {
+		StringBuilder joined = new StringBuilder();
+		for (String segment : segments) {
+			joined.append(", ").append(literal(segment));
+		}
+		return joined.toString();
+	}
+
+	private static String toMethodName(String constantName) {
+		StringBuilder name = new StringBuilder();
+		boolean upper = false;
+		for (char c : constantName.toLowerCase(Locale.ROOT).toCharArray()) {
+			if (c == '_') {
+				upper = name.length() > 0;
+			} else {
+				name.append(upper ? Character.toUpperCase(c) : c);
+				upper = false;
+			}
+		}
+		return name.toString();
+	}
+
+	private static String parameters(int count) {
+		List<String> parameters = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			parameters.add("String value" + i);
+		}
+		return String.join(", ", parameters);
+	}
+
+	private static String arguments(int count) {
+		List<String> arguments = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			arguments.add("value" + i);
+		}
+		return String.join(", ", arguments);
+	}
+}
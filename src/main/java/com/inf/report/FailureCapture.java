@@ -0,0 +1,203 @@
+package com.inf.report;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import com.inf.metrics.ActionMetrics;
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Evidence for failed scenarios: screenshot, page source, current URL and browser console. The scenario thread
+ * only fetches the raw bytes from the browser; PNG recompression, gzip and disk writes run on a small writer
+ * pool with a bounded queue. When the queue is full the scenario thread writes its own capture, so at most
+ * the writers' and the queue's captures are held in memory however many scenarios fail at once. The report
+ * gets a link to the files under failures/&lt;scenario&gt;/ rather than the bytes.
+ */
+public final class FailureCapture {
+	private static final Logger LOG = LogManager.getLogger(FailureCapture.class.getName());
+	private static final boolean ENABLED = PropertyUtils.getBoolean("FailureCapture", true);
+	private static final Path DIRECTORY = Paths.get(PropertyUtils.getValue("FailureDirectory", "target/site/failures"));
+	private static final int WRITER_THREADS = 2;
+	private static final ThreadPoolExecutor WRITER = createWriter(PropertyUtils.getInt("FailureCaptureQueue", 4));
+
+	private FailureCapture() {
+	}
+
+	private static final class Capture {
+		private final Path directory;
+		private byte[] screenshot;
+		private String pageSource;
+		private List<String> console = Collections.emptyList();
+
+		Capture(Path directory) {
+			this.directory = directory;
+		}
+	}
+
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Grabs the evidence from the browser on the calling thread, hands the writing off and returns an HTML
+	 * fragment linking the files, relative to the attachments directory of the report.
+	 */
+	public static byte[] capture(WebDriver driver, URI featureUri, String scenarioName, int line, Path reportDirectory) {
+		long start = System.nanoTime();
+		Capture capture = new Capture(DIRECTORY.resolve(ScenarioLog.key(featureUri, scenarioName, line)));
+		String url = null;
+		try {
+			url = driver.getCurrentUrl();
+			capture.screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+			capture.pageSource = driver.getPageSource();
+			capture.console = readConsole(driver);
+		} catch (WebDriverException e) {
+			// A crashed or hung browser still leaves whatever was grabbed before
+			LOG.info("*** Failure capture of {} is incomplete: {} ***", scenarioName, e.getMessage());
+		}
+		ActionMetrics.record("failure capture", null, System.nanoTime() - start);
+		WRITER.execute(() -> write(capture));
+		return link(capture, url, reportDirectory);
+	}
+
+	/** Discards the console entries of the previous scenario so the next capture starts clean. */
+	public static void clearConsole(WebDriver driver) {
+		try {
+			driver.manage().logs().get(LogType.BROWSER);
+		} catch (WebDriverException | UnsupportedOperationException e) {
+			LOG.debug("Browser console is not available: {}", e.getMessage());
+		}
+	}
+
+	/** Waits for the pending captures to reach the disk. */
+	public static void shutdown() {
+		WRITER.shutdown();
+		try {
+			if (!WRITER.awaitTermination(30, TimeUnit.SECONDS)) {
+				LOG.info("*** {} failure captures were not written ***", WRITER.getQueue().size());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static ThreadPoolExecutor createWriter(int queueSize) {
+		AtomicInteger threads = new AtomicInteger();
+		return new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+				runnable -> {
+					Thread thread = new Thread(runnable, "failure-writer-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	private static List<String> readConsole(WebDriver driver) {
+		try {
+			List<String> lines = new ArrayList<>();
+			for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+				lines.add(new Date(entry.getTimestamp()) + " " + entry.getLevel() + " " + entry.getMessage());
+			}
+			return lines;
+		} catch (WebDriverException | UnsupportedOperationException e) {
+			return Collections.singletonList("Browser console is not available: " + e.getMessage());
+		}
+	}
+
+	private static void write(Capture capture) {
+		try {
+			Files.createDirectories(capture.directory);
+			if (capture.screenshot != null) {
+				Files.write(capture.directory.resolve("screenshot.png"), optimizePng(capture.screenshot));
+			}
+			if (capture.pageSource != null) {
+				try (Writer writer = new OutputStreamWriter(
+						new GZIPOutputStream(Files.newOutputStream(capture.directory.resolve("page-source.html.gz"))), StandardCharsets.UTF_8)) {
+					writer.write(capture.pageSource);
+				}
+			}
+			Files.write(capture.directory.resolve("console.log"), capture.console, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			LOG.info("*** Can not write failure capture to {} ***", capture.directory, e);
+		}
+	}
+
+	/** Re-encodes the browser's quickly compressed PNG at the highest deflate level; keeps whichever is smaller. */
+	static byte[] optimizePng(byte[] png) {
+		try {
+			BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+			ImageWriter writer = image == null ? null : ImageIO.getImageWritersByFormatName("png").next();
+			if (writer == null) {
+				return png;
+			}
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(png.length);
+			try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+				writer.setOutput(output);
+				ImageWriteParam param = writer.getDefaultWriteParam();
+				if (param.canWriteCompressed()) {
+					param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+					param.setCompressionQuality(0.0f);
+				}
+				writer.write(null, new IIOImage(image, null, null), param);
+			} finally {
+				writer.dispose();
+			}
+			return bytes.size() < png.length ? bytes.toByteArray() : png;
+		} catch (IOException | RuntimeException e) {
+			return png;
+		}
+	}
+
+	private static byte[] link(Capture capture, String url, Path reportDirectory) {
+		StringBuilder html = new StringBuilder();
+		if (url != null) {
+			html.append("URL: ").append(escape(url)).append("<br>");
+		}
+		appendLink(html, capture.screenshot != null, capture.directory.resolve("screenshot.png"), "Screenshot", reportDirectory);
+		appendLink(html, capture.pageSource != null, capture.directory.resolve("page-source.html.gz"), "Page source (gzip)", reportDirectory);
+		appendLink(html, true, capture.directory.resolve("console.log"), "Console log", reportDirectory);
+		return html.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void appendLink(StringBuilder html, boolean present, Path file, String name, Path reportDirectory) {
+		if (present) {
+			html.append("<a href=\"").append(ScenarioLog.href(file, reportDirectory)).append("\" target=\"_blank\">").append(name).append("</a> ");
+		}
+	}
+
+	private static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+	}
+}
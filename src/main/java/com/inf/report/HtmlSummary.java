@@ -0,0 +1,75 @@
+package com.inf.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * HTML table of scenarios written row by row while {@link ReportMerger} streams the results; only the
+ * totals per status are kept, and they are written at the end and moved to the top by the page itself.
+ */
+final class HtmlSummary implements Closeable {
+	private final Writer writer;
+	private final Map<String, Integer> statusCounts = new TreeMap<>();
+	private long totalNanos;
+	private int scenarios;
+
+	HtmlSummary(Writer writer) throws IOException {
+		this.writer = writer;
+		writer.write("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>Scenario summary</title><style>"
+				+ "body{font-family:sans-serif}table{border-collapse:collapse;width:100%}td,th{border:1px solid #ccc;padding:4px;text-align:left;vertical-align:top}"
+				+ ".passed{background:#e6f4e6}.failed{background:#f8dddd}.skipped,.pending,.undefined{background:#fdf5d8}pre{white-space:pre-wrap;margin:0}"
+				+ "</style></head><body><h1>Scenario summary</h1><div id=\"totals\"></div><table><tr><th>Feature</th><th>Scenario</th><th>Status</th>"
+				+ "<th>Duration (ms)</th><th>Details</th></tr>\n");
+	}
+
+	@SuppressWarnings("unchecked")
+	void add(Map<String, Object> record) throws IOException {
+		Map<String, Object> element = (Map<String, Object>) record.get("element");
+		String status = "passed";
+		long nanos = 0;
+		StringBuilder details = new StringBuilder();
+		for (String section : new String[] { "before", "steps", "after" }) {
+			for (Map<String, Object> step : (List<Map<String, Object>>) element.getOrDefault(section, List.of())) {
+				Map<String, Object> result = (Map<String, Object>) step.get("result");
+				String stepStatus = String.valueOf(result.get("status"));
+				nanos += ((Number) result.getOrDefault("duration", 0)).longValue();
+				if ("passed".equals(status) && !"passed".equals(stepStatus)) {
+					status = stepStatus;
+				}
+				if (result.get("error_message") != null) {
+					details.append("<pre>").append(escape(String.valueOf(result.get("error_message")))).append("</pre>");
+				}
+				for (Map<String, Object> embedding : (List<Map<String, Object>>) step.getOrDefault("embeddings", List.of())) {
+					details.append("<a href=\"").append(escape(String.valueOf(embedding.get("file")))).append("\">").append(escape(String.valueOf(embedding.get("name"))))
+							.append("</a> ");
+				}
+			}
+		}
+		statusCounts.merge(status, 1, Integer::sum);
+		totalNanos += nanos;
+		scenarios++;
+		writer.write("<tr class=\"" + status + "\"><td>" + escape(String.valueOf(record.get("featureName"))) + "</td><td>" + escape(String.valueOf(element.get("name")))
+				+ "</td><td>" + status + "</td><td>" + nanos / 1_000_000 + "</td><td>" + details + "</td></tr>\n");
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			writer.write("</table><div id=\"counts\"><p>" + scenarios + " scenarios, " + totalNanos / 1_000_000 + " ms in total");
+			for (Map.Entry<String, Integer> count : statusCounts.entrySet()) {
+				writer.write(", " + count.getValue() + " " + count.getKey());
+			}
+			writer.write("</p></div><script>document.getElementById('totals').appendChild(document.getElementById('counts'));</script></body></html>\n");
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+	}
+}
@@ -0,0 +1,121 @@
+package com.inf.report;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openqa.selenium.json.Json;
+
+import com.inf.shard.ScenarioDurations;
+
+/**
+ * Merges the scenario files written by {@link StreamingReportPlugin}, from one JVM or from many forks and
+ * shards, into cucumber.json and the HTML summary in a single pass that holds one scenario at a time.
+ * Consecutive scenarios of a feature share one feature entry; features split by parallel execution are
+ * joined again by the masterthought report (mergeFeaturesById). Both files are written next to their target and
+ * moved over it when complete, so a reader such as the shard planner never sees a half-written cucumber.json.
+ * The scenario durations are then added to the history the shard planner reads.
+ */
+public final class ReportMerger {
+	static final String SCENARIO_DIRECTORY = "scenarios";
+	private static final ReentrantLock LOCK = new ReentrantLock();
+
+	private ReportMerger() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		merge(Paths.get(args.length > 0 ? args[0] : "target/site"));
+	}
+
+	public static void merge(Path outputDirectory) throws IOException {
+		LOCK.lock();
+		try {
+			mergeLocked(outputDirectory);
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	private static void mergeLocked(Path outputDirectory) throws IOException {
+		Path jsonFile = Files.createTempFile(outputDirectory, "cucumber", ".json.tmp");
+		Path summaryFile = Files.createTempFile(outputDirectory, "cucumber-summary", ".html.tmp");
+		try {
+			write(outputDirectory, jsonFile, summaryFile);
+			Files.move(jsonFile, outputDirectory.resolve("cucumber.json"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(summaryFile, outputDirectory.resolve("cucumber-summary.html"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			ScenarioDurations.record(outputDirectory.resolve("cucumber.json"));
+		} finally {
+			Files.deleteIfExists(jsonFile);
+			Files.deleteIfExists(summaryFile);
+		}
+	}
+
+	private static void write(Path outputDirectory, Path jsonFile, Path summaryFile) throws IOException {
+		Json json = new Json();
+		List<Path> scenarioFiles = listScenarioFiles(outputDirectory.resolve(SCENARIO_DIRECTORY));
+		try (Writer jsonWriter = Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8);
+				HtmlSummary summary = new HtmlSummary(Files.newBufferedWriter(summaryFile, StandardCharsets.UTF_8))) {
+			jsonWriter.write("[");
+			String currentUri = null;
+			boolean firstElement = true;
+			for (Path scenarioFile : scenarioFiles) {
+				try (BufferedReader reader = Files.newBufferedReader(scenarioFile, StandardCharsets.UTF_8)) {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						if (line.isBlank()) {
+							continue;
+						}
+						Map<String, Object> record = json.toType(line, Json.MAP_TYPE);
+						String uri = String.valueOf(record.get("uri"));
+						if (!uri.equals(currentUri)) {
+							jsonWriter.write(currentUri == null ? "" : "]},");
+							writeFeatureHeader(jsonWriter, json, record);
+							currentUri = uri;
+							firstElement = true;
+						}
+						jsonWriter.write(firstElement ? "" : ",");
+						json.newOutput(jsonWriter).setPrettyPrint(false).write(record.get("element"));
+						firstElement = false;
+						summary.add(record);
+					}
+				}
+			}
+			jsonWriter.write(currentUri == null ? "]" : "]}]");
+		}
+	}
+
+	static String toId(String name) {
+		return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+	}
+
+	private static void writeFeatureHeader(Writer writer, Json json, Map<String, Object> record) throws IOException {
+		String name = String.valueOf(record.get("featureName"));
+		writer.write("{\"uri\":" + json.toJson(record.get("uri")) + ",\"id\":" + json.toJson(toId(name)) + ",\"keyword\":\"Feature\",\"name\":" + json.toJson(name)
+				+ ",\"line\":" + record.get("featureLine") + ",\"description\":\"\",\"elements\":[");
+	}
+
+	private static List<Path> listScenarioFiles(Path directory) throws IOException {
+		List<Path> files = new ArrayList<>();
+		if (Files.isDirectory(directory)) {
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.ndjson")) {
+				for (Path file : stream) {
+					files.add(file);
+				}
+			}
+		}
+		Collections.sort(files);
+		return files;
+	}
+}
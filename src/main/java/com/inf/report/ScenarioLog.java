@@ -0,0 +1,63 @@
+package com.inf.report;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.ThreadContext;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Routes the log events of the running scenario to a file of its own. The log4j2 configuration writes events
+ * carrying the "scenario" context key to scenarios/&lt;key&gt;.log and the "worker" key to threads/&lt;thread&gt;.log
+ * under LogDirectory. Loggers are asynchronous, so a scenario's file may still be filling when the scenario
+ * ends; the report therefore links to the file instead of copying it.
+ */
+public final class ScenarioLog {
+	private static final String SCENARIO_KEY = "scenario";
+	private static final String WORKER_KEY = "worker";
+	private static final Path LOG_DIRECTORY = Paths.get(PropertyUtils.getValue("LogDirectory", "target/site/logs"));
+
+	private ScenarioLog() {
+	}
+
+	/** Starts routing this thread's events to the scenario's file and returns the file. */
+	public static Path begin(URI featureUri, String scenarioName, int line) {
+		String key = key(featureUri, scenarioName, line);
+		ThreadContext.put(SCENARIO_KEY, key);
+		ThreadContext.put(WORKER_KEY, Thread.currentThread().getName().replaceAll("[^A-Za-z0-9._-]", "_"));
+		return LOG_DIRECTORY.resolve("scenarios").resolve(key + ".log");
+	}
+
+	/** A file name for a scenario that stays the same across runs: feature, scenario name and line. */
+	public static String key(URI featureUri, String scenarioName, int line) {
+		String feature = Paths.get(featureUri.getSchemeSpecificPart()).getFileName().toString().replaceFirst("\\.feature$", "");
+		return ReportMerger.toId(feature) + "-" + ReportMerger.toId(scenarioName) + "-" + line;
+	}
+
+	public static void end() {
+		ThreadContext.remove(SCENARIO_KEY);
+		ThreadContext.remove(WORKER_KEY);
+	}
+
+	/**
+	 * An HTML link to a scenario log, relative to the attachments directory of {@link StreamingReportPlugin}
+	 * where report attachments end up.
+	 */
+	public static byte[] link(Path logFile, Path reportDirectory) {
+		return ("<a href=\"" + href(logFile, reportDirectory) + "\" target=\"_blank\">" + logFile.getFileName() + "</a>").getBytes(StandardCharsets.UTF_8);
+	}
+
+	static String href(Path file, Path reportDirectory) {
+		Path relative = reportDirectory.resolve("attachments").toAbsolutePath().relativize(file.toAbsolutePath());
+		return relative.toString().replace('\\', '/');
+	}
+
+	/** Drains the asynchronous loggers and closes the log files; the last call of a run. */
+	public static void shutdown() {
+		LogManager.shutdown();
+	}
+}
@@ -0,0 +1,298 @@
+package com.inf.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openqa.selenium.json.Json;
+
+import com.inf.utils.PropertyUtils;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestSourceRead;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.WriteEvent;
+
+/**
+ * Writes each finished scenario as one line of Cucumber JSON to scenarios/&lt;pid&gt;.ndjson under the output
+ * directory, so nothing but the running scenarios is held in memory. Attachments are written to attachments/
+ * and referenced from the report by a small HTML link instead of being embedded as base64. When the run ends
+ * the scenario files in the directory, including those of other forks, are merged by {@link ReportMerger};
+ * a shard (ShardCount above 1) leaves that to the launcher or build that runs all shards.
+ */
+public class StreamingReportPlugin implements ConcurrentEventListener {
+	private static final String LINE_SEPARATOR = "\n";
+	private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+	private final Path outputDirectory;
+	private final Path attachmentDirectory;
+	private final Path scenarioFile;
+	private final Json json = new Json();
+	private final Map<URI, String[]> features = new ConcurrentHashMap<>();
+	private final Map<UUID, ScenarioRecord> running = new ConcurrentHashMap<>();
+	private final AtomicLong attachmentCount = new AtomicLong();
+	private final ReentrantLock lock = new ReentrantLock();
+	private Writer writer;
+
+	public StreamingReportPlugin(File outputDirectory) {
+		this.outputDirectory = outputDirectory.toPath();
+		this.attachmentDirectory = this.outputDirectory.resolve("attachments");
+		this.scenarioFile = this.outputDirectory.resolve(ReportMerger.SCENARIO_DIRECTORY).resolve(ProcessHandle.current().pid() + ".ndjson");
+	}
+
+	@Override
+	public void setEventPublisher(EventPublisher publisher) {
+		publisher.registerHandlerFor(TestRunStarted.class, event -> open());
+		publisher.registerHandlerFor(TestSourceRead.class, event -> features.put(event.getUri(), readFeatureHeader(event.getSource())));
+		publisher.registerHandlerFor(TestCaseStarted.class, event -> running.put(event.getTestCase().getId(), new ScenarioRecord(event.getTestCase(), event.getInstant().toString())));
+		publisher.registerHandlerFor(TestStepFinished.class, event -> {
+			ScenarioRecord scenario = running.get(event.getTestCase().getId());
+			if (scenario != null) {
+				scenario.addStep(event.getTestStep(), event.getResult());
+			}
+		});
+		publisher.registerHandlerFor(EmbedEvent.class, event -> {
+			ScenarioRecord scenario = running.get(event.getTestCase().getId());
+			if (scenario != null) {
+				scenario.pendingEmbeddings.add(writeAttachment(event));
+			}
+		});
+		publisher.registerHandlerFor(WriteEvent.class, event -> {
+			ScenarioRecord scenario = running.get(event.getTestCase().getId());
+			if (scenario != null) {
+				scenario.pendingOutput.add(event.getText());
+			}
+		});
+		publisher.registerHandlerFor(TestCaseFinished.class, event -> {
+			ScenarioRecord scenario = running.remove(event.getTestCase().getId());
+			if (scenario != null) {
+				writeLine(scenario);
+			}
+		});
+		publisher.registerHandlerFor(TestRunFinished.class, event -> close());
+	}
+
+	private void open() {
+		lock.lock();
+		try {
+			Files.createDirectories(scenarioFile.getParent());
+			Files.createDirectories(attachmentDirectory);
+			// Files of earlier runs go, files of forks running next to this one started after this JVM
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(scenarioFile.getParent(), "*.ndjson")) {
+				for (Path file : files) {
+					if (Files.getLastModifiedTime(file).toMillis() < JVM_START_MILLIS) {
+						Files.delete(file);
+					}
+				}
+			}
+			writer = Files.newBufferedWriter(scenarioFile, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not open " + scenarioFile, e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void writeLine(ScenarioRecord scenario) {
+		String[] feature = features.getOrDefault(scenario.uri, new String[] { scenario.uri.toString(), "1" });
+		Map<String, Object> line = new LinkedHashMap<>();
+		line.put("uri", scenario.uri.toString());
+		line.put("featureName", feature[0]);
+		line.put("featureLine", Integer.parseInt(feature[1]));
+		line.put("element", scenario.toElement());
+		StringBuilder text = new StringBuilder();
+		json.newOutput(text).setPrettyPrint(false).write(line);
+		lock.lock();
+		try {
+			writer.write(text.append(LINE_SEPARATOR).toString());
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not write " + scenarioFile, e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void close() {
+		lock.lock();
+		try {
+			writer.close();
+			if (PropertyUtils.getInt("ShardCount", 1) <= 1) {
+				ReportMerger.merge(outputDirectory);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not finish the report in " + outputDirectory, e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Map<String, Object> writeAttachment(EmbedEvent event) {
+		String name = event.getName() == null ? "attachment" : event.getName();
+		String fileName = ProcessHandle.current().pid() + "-" + attachmentCount.incrementAndGet() + "-" + name.replaceAll("[^A-Za-z0-9._-]", "_")
+				+ extension(event.getMediaType());
+		try {
+			Files.write(attachmentDirectory.resolve(fileName), event.getData());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not write attachment " + fileName, e);
+		}
+		// Links are relative to the feature pages of the masterthought report in site/cucumber-reporting/cucumber-html-reports
+		String link = "<a href=\"../../attachments/" + fileName + "\" target=\"_blank\">" + name + " (" + event.getMediaType() + ", " + event.getData().length + " bytes)</a>";
+		Map<String, Object> embedding = new LinkedHashMap<>();
+		embedding.put("data", Base64.getEncoder().encodeToString(link.getBytes(StandardCharsets.UTF_8)));
+		embedding.put("mime_type", "text/html");
+		embedding.put("name", name);
+		embedding.put("file", "attachments/" + fileName);
+		return embedding;
+	}
+
+	private static String extension(String mediaType) {
+		switch (mediaType) {
+		case "image/png":
+			return ".png";
+		case "text/html":
+			return ".html";
+		case "application/json":
+			return ".json";
+		case "application/gzip":
+			return ".gz";
+		default:
+			return mediaType.startsWith("text/") ? ".txt" : ".bin";
+		}
+	}
+
+	private static String[] readFeatureHeader(String source) {
+		String[] lines = source.split("\\R");
+		for (int i = 0; i < lines.length; i++) {
+			String line = lines[i].trim();
+			int colon = line.indexOf(':');
+			if (colon > 0 && !line.startsWith("#") && !line.startsWith("@")) {
+				return new String[] { line.substring(colon + 1).trim(), String.valueOf(i + 1) };
+			}
+		}
+		return new String[] { "", "1" };
+	}
+
+	private static final class ScenarioRecord {
+		private final URI uri;
+		private final TestCase testCase;
+		private final String startTimestamp;
+		private final List<Map<String, Object>> before = new ArrayList<>();
+		private final List<Map<String, Object>> steps = new ArrayList<>();
+		private final List<Map<String, Object>> after = new ArrayList<>();
+		private final List<Map<String, Object>> pendingEmbeddings = new ArrayList<>();
+		private final List<String> pendingOutput = new ArrayList<>();
+		private final List<Map<String, Object>> pendingBeforeStep = new ArrayList<>();
+
+		private ScenarioRecord(TestCase testCase, String startTimestamp) {
+			this.uri = testCase.getUri();
+			this.testCase = testCase;
+			this.startTimestamp = startTimestamp;
+		}
+
+		private void addStep(Object testStep, Result result) {
+			Map<String, Object> step = new LinkedHashMap<>();
+			if (testStep instanceof PickleStepTestStep) {
+				PickleStepTestStep pickleStep = (PickleStepTestStep) testStep;
+				step.put("keyword", pickleStep.getStep().getKeyword());
+				step.put("name", pickleStep.getStep().getText());
+				step.put("line", pickleStep.getStep().getLine());
+				step.put("match", Map.of("location", pickleStep.getCodeLocation()));
+			} else {
+				step.put("match", Map.of("location", String.valueOf(((HookTestStep) testStep).getCodeLocation())));
+			}
+			Map<String, Object> stepResult = new LinkedHashMap<>();
+			stepResult.put("status", result.getStatus().name().toLowerCase(Locale.ROOT));
+			stepResult.put("duration", result.getDuration().toNanos());
+			if (result.getError() != null) {
+				stepResult.put("error_message", String.valueOf(result.getError()));
+			}
+			step.put("result", stepResult);
+			if (!pendingEmbeddings.isEmpty()) {
+				step.put("embeddings", new ArrayList<>(pendingEmbeddings));
+				pendingEmbeddings.clear();
+			}
+			if (!pendingOutput.isEmpty()) {
+				step.put("output", new ArrayList<>(pendingOutput));
+				pendingOutput.clear();
+			}
+			if (testStep instanceof PickleStepTestStep) {
+				if (!pendingBeforeStep.isEmpty()) {
+					step.put("before", new ArrayList<>(pendingBeforeStep));
+					pendingBeforeStep.clear();
+				}
+				steps.add(step);
+				return;
+			}
+			// Step hooks are reported with the step they ran around
+			switch (((HookTestStep) testStep).getHookType()) {
+			case BEFORE:
+				before.add(step);
+				break;
+			case AFTER:
+				after.add(step);
+				break;
+			case BEFORE_STEP:
+				pendingBeforeStep.add(step);
+				break;
+			default:
+				if (!steps.isEmpty()) {
+					addStepHook(steps.get(steps.size() - 1), step);
+				}
+				break;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static void addStepHook(Map<String, Object> step, Map<String, Object> hook) {
+			((List<Map<String, Object>>) step.computeIfAbsent("after", key -> new ArrayList<>())).add(hook);
+		}
+
+		private Map<String, Object> toElement() {
+			List<Map<String, Object>> tags = new ArrayList<>();
+			for (String tag : testCase.getTags()) {
+				tags.add(Map.of("name", tag));
+			}
+			Map<String, Object> element = new LinkedHashMap<>();
+			element.put("start_timestamp", startTimestamp);
+			element.put("id", ReportMerger.toId(testCase.getName()) + ";" + testCase.getLocation().getLine());
+			element.put("keyword", testCase.getKeyword());
+			element.put("name", testCase.getName());
+			element.put("description", "");
+			element.put("line", testCase.getLocation().getLine());
+			element.put("type", "scenario");
+			element.put("tags", tags);
+			element.put("before", before);
+			element.put("steps", steps);
+			element.put("after", after);
+			return element;
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package com.inf.session;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+
+import com.inf.commons.ElementCache;
+import com.inf.metrics.ActionMetrics;
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Logs in once per user and origin through the UI and restores the captured session into other pooled browsers.
+ * A snapshot is reused while it is younger than SessionTtlMinutes and the caller's cheap check accepts the
+ * restored page; otherwise the browser logs in through the UI again and the snapshot is replaced. Snapshots are
+ * also kept in the user cache directory, readable by the owner only, so later runs on the same machine skip the
+ * first login too. Scenarios that need the same user wait for one login instead of each doing their own.
+ */
+public final class SessionCache {
+	private static final Logger LOG = LogManager.getLogger(SessionCache.class.getName());
+	private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(PropertyUtils.getLong("SessionTtlMinutes", 30));
+	private static final boolean ENABLED = PropertyUtils.getBoolean("SessionCache", true);
+	private static final boolean DISK = PropertyUtils.getBoolean("SessionCacheDisk", true);
+	private static final Path DIRECTORY = Paths.get(PropertyUtils.getValue("SessionCacheDirectory",
+			Paths.get(System.getProperty("user.home"), ".cache", "mvn-cucumber-framework", "sessions").toString()));
+	private static final String CAPTURE_STORAGE = "function copy(storage) { var result = {};"
+			+ " for (var i = 0; i < storage.length; i++) { var key = storage.key(i); result[key] = storage.getItem(key); } return result; }"
+			+ " return [copy(window.localStorage), copy(window.sessionStorage)];";
+	private static final String RESTORE_STORAGE = "localStorage.clear(); sessionStorage.clear();"
+			+ " for (var key in arguments[0]) { localStorage.setItem(key, arguments[0][key]); }"
+			+ " for (var key in arguments[1]) { sessionStorage.setItem(key, arguments[1][key]); }";
+
+	private static final Map<String, SessionSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+	private static final Map<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+	private static final Json JSON = new Json();
+
+	private SessionCache() {
+	}
+
+	/**
+	 * Leaves the browser logged in as the user on the landing page of the login. The browser is restored from a
+	 * snapshot when there is a fresh one that passes isLoggedIn, and logs in with uiLogin otherwise; uiLogin
+	 * starts from any page and ends on the page that isLoggedIn recognizes.
+	 */
+	public static void login(WebDriver driver, String user, String loginPageUrl, Consumer<WebDriver> uiLogin, Predicate<WebDriver> isLoggedIn) {
+		if (!ENABLED) {
+			uiLogin.accept(driver);
+			return;
+		}
+		String key = user + "@" + origin(loginPageUrl);
+		SessionSnapshot snapshot = SNAPSHOTS.get(key);
+		if (snapshot != null && snapshot.isFresh(TTL_MILLIS) && restore(driver, loginPageUrl, snapshot, isLoggedIn, user)) {
+			return;
+		}
+		ReentrantLock lock = LOCKS.computeIfAbsent(key, k -> new ReentrantLock());
+		lock.lock();
+		try {
+			// Another scenario may have logged this user in while we waited
+			SessionSnapshot current = SNAPSHOTS.computeIfAbsent(key, SessionCache::load);
+			if (current != null && current != snapshot && current.isFresh(TTL_MILLIS) && restore(driver, loginPageUrl, current, isLoggedIn, user)) {
+				return;
+			}
+			long start = System.nanoTime();
+			uiLogin.accept(driver);
+			ActionMetrics.record("session: login", user, System.nanoTime() - start);
+			SessionSnapshot captured = capture(driver);
+			SNAPSHOTS.put(key, captured);
+			store(key, captured);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** Forgets every snapshot of the user, in memory and on disk. */
+	public static void invalidate(String user) {
+		SNAPSHOTS.keySet().removeIf(key -> key.startsWith(user + "@"));
+		if (DISK && Files.isDirectory(DIRECTORY)) {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(DIRECTORY, fileName(user + "@") + "*.json")) {
+				for (Path file : files) {
+					Files.deleteIfExists(file);
+				}
+			} catch (IOException e) {
+				LOG.info("Can not delete sessions of {}", user, e);
+			}
+		}
+	}
+
+	private static boolean restore(WebDriver driver, String loginPageUrl, SessionSnapshot snapshot, Predicate<WebDriver> isLoggedIn, String user) {
+		long start = System.nanoTime();
+		try {
+			// Cookies and storage can only be set for the origin the browser is on; pooled browsers usually are there already
+			if (!origin(driver.getCurrentUrl()).equals(origin(loginPageUrl))) {
+				driver.get(loginPageUrl);
+			}
+			driver.manage().deleteAllCookies();
+			for (Cookie cookie : snapshot.getCookies()) {
+				driver.manage().addCookie(cookie);
+			}
+			((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE, snapshot.getLocalStorage(), snapshot.getSessionStorage());
+			ElementCache.invalidate(driver);
+			driver.get(snapshot.getLandingUrl());
+			boolean loggedIn = isLoggedIn.test(driver);
+			ActionMetrics.record(loggedIn ? "session: restore" : "session: restore (rejected)", user, System.nanoTime() - start);
+			return loggedIn;
+		} catch (WebDriverException e) {
+			LOG.info("*** Can not restore the session of {}, logging in again: {} ***", user, e.getMessage());
+			return false;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static SessionSnapshot capture(WebDriver driver) {
+		List<Map<String, String>> storage = (List<Map<String, String>>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE);
+		return SessionSnapshot.of(driver.getCurrentUrl(), driver.manage().getCookies(), storage.get(0), storage.get(1));
+	}
+
+	private static SessionSnapshot load(String key) {
+		Path file = DIRECTORY.resolve(fileName(key) + ".json");
+		if (!DISK || !Files.isRegularFile(file)) {
+			return null;
+		}
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			SessionSnapshot snapshot = SessionSnapshot.fromMap(JSON.newInput(reader).read(Json.MAP_TYPE));
+			return snapshot.isFresh(TTL_MILLIS) ? snapshot : null;
+		} catch (IOException | RuntimeException e) {
+			LOG.info("Can not read session {}", file, e);
+			return null;
+		}
+	}
+
+	private static void store(String key, SessionSnapshot snapshot) {
+		if (!DISK) {
+			return;
+		}
+		Path file = DIRECTORY.resolve(fileName(key) + ".json");
+		try {
+			Files.createDirectories(DIRECTORY);
+			Path temporary = Files.createTempFile(DIRECTORY, fileName(key), ".tmp");
+			try {
+				Files.setPosixFilePermissions(temporary, PosixFilePermissions.fromString("rw-------"));
+			} catch (UnsupportedOperationException e) {
+				// Not a POSIX file system; the user cache directory is the only protection
+			}
+			try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+				JSON.newOutput(writer).write(snapshot.toMap());
+			}
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LOG.info("Can not save session to {}", file, e);
+		}
+	}
+
+	private static String origin(String url) {
+		try {
+			URI uri = URI.create(url);
+			return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+		} catch (IllegalArgumentException e) {
+			return url;
+		}
+	}
+
+	private static String fileName(String key) {
+		return key.replaceAll("[^A-Za-z0-9._@-]", "_");
+	}
+}
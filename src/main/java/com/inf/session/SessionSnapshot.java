@@ -0,0 +1,108 @@
+package com.inf.session;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.Cookie;
+
+/**
+ * The authenticated state of one origin: its cookies, localStorage and sessionStorage, and the page the login
+ * landed on. Converts to and from plain maps so it can be written with Selenium's Json.
+ */
+public final class SessionSnapshot {
+	private final String landingUrl;
+	private final long createdMillis;
+	private final List<Map<String, Object>> cookies;
+	private final Map<String, String> localStorage;
+	private final Map<String, String> sessionStorage;
+
+	SessionSnapshot(String landingUrl, long createdMillis, List<Map<String, Object>> cookies, Map<String, String> localStorage,
+			Map<String, String> sessionStorage) {
+		this.landingUrl = landingUrl;
+		this.createdMillis = createdMillis;
+		this.cookies = cookies;
+		this.localStorage = localStorage;
+		this.sessionStorage = sessionStorage;
+	}
+
+	static SessionSnapshot of(String landingUrl, Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage) {
+		List<Map<String, Object>> cookieMaps = new ArrayList<>();
+		for (Cookie cookie : cookies) {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("name", cookie.getName());
+			map.put("value", cookie.getValue());
+			map.put("domain", cookie.getDomain());
+			map.put("path", cookie.getPath());
+			map.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+			map.put("secure", cookie.isSecure());
+			map.put("httpOnly", cookie.isHttpOnly());
+			map.put("sameSite", cookie.getSameSite());
+			cookieMaps.add(map);
+		}
+		return new SessionSnapshot(landingUrl, System.currentTimeMillis(), cookieMaps, localStorage, sessionStorage);
+	}
+
+	@SuppressWarnings("unchecked")
+	static SessionSnapshot fromMap(Map<String, Object> map) {
+		return new SessionSnapshot((String) map.get("landingUrl"), ((Number) map.get("createdMillis")).longValue(),
+				(List<Map<String, Object>>) map.get("cookies"), (Map<String, String>) map.get("localStorage"),
+				(Map<String, String>) map.get("sessionStorage"));
+	}
+
+	Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("landingUrl", landingUrl);
+		map.put("createdMillis", createdMillis);
+		map.put("cookies", cookies);
+		map.put("localStorage", localStorage);
+		map.put("sessionStorage", sessionStorage);
+		return map;
+	}
+
+	public String getLandingUrl() {
+		return landingUrl;
+	}
+
+	public long getCreatedMillis() {
+		return createdMillis;
+	}
+
+	public Map<String, String> getLocalStorage() {
+		return Collections.unmodifiableMap(localStorage);
+	}
+
+	public Map<String, String> getSessionStorage() {
+		return Collections.unmodifiableMap(sessionStorage);
+	}
+
+	/** Unexpired cookies, ready to add to a browser that is on the snapshot's origin. */
+	public List<Cookie> getCookies() {
+		long now = System.currentTimeMillis();
+		List<Cookie> result = new ArrayList<>();
+		for (Map<String, Object> map : cookies) {
+			Number expiry = (Number) map.get("expiry");
+			if (expiry != null && expiry.longValue() <= now) {
+				continue;
+			}
+			result.add(new Cookie.Builder((String) map.get("name"), (String) map.get("value"))
+					.domain((String) map.get("domain"))
+					.path((String) map.get("path"))
+					.expiresOn(expiry == null ? null : new Date(expiry.longValue()))
+					.isSecure(Boolean.TRUE.equals(map.get("secure")))
+					.isHttpOnly(Boolean.TRUE.equals(map.get("httpOnly")))
+					.sameSite((String) map.get("sameSite"))
+					.build());
+		}
+		return result;
+	}
+
+	/** Cookies that ran out are dropped on restore; whether the rest still authenticate is for the caller's check. */
+	public boolean isFresh(long ttlMillis) {
+		return System.currentTimeMillis() - createdMillis < ttlMillis;
+	}
+}
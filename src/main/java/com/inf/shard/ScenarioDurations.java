@@ -0,0 +1,268 @@
+package com.inf.shard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Per-scenario durations from earlier runs, keyed by "feature path:line". Reads Cucumber JSON reports and the
+ * scenario files of the streaming report plugin with a streaming parser, so a history of any size costs one
+ * scenario of memory plus the resulting map. A scenario seen in several files gets the mean of its runs.
+ * Every merged report is added to HISTORY_FILE, under ~/.cache so that mvn clean does not take it away.
+ */
+public final class ScenarioDurations {
+	private static final Logger LOG = LogManager.getLogger(ScenarioDurations.class.getName());
+	private static final Path WORKING_DIRECTORY = Paths.get("").toAbsolutePath();
+	public static final Path HISTORY_FILE = Paths.get(PropertyUtils.getValue("DurationHistory", Paths.get(System.getProperty("user.home"), ".cache",
+			"mvn-cucumber-framework", "durations", WORKING_DIRECTORY.getFileName() + ".properties").toString()));
+
+	private final Map<String, long[]> totals = new HashMap<>();
+
+	public static ScenarioDurations load(List<Path> sources) {
+		ScenarioDurations durations = new ScenarioDurations();
+		for (Path source : sources) {
+			try {
+				durations.read(source);
+			} catch (IOException | RuntimeException e) {
+				LOG.warn("Ignoring unreadable duration history {}: {}", source, e.toString());
+			}
+		}
+		return durations;
+	}
+
+	/** Adds the durations in a finished run's report to the history file, keeping those of scenarios it did not run. */
+	public static void record(Path report) {
+		ScenarioDurations durations = load(Arrays.asList(HISTORY_FILE, report));
+		if (durations.size() > 0) {
+			durations.save(HISTORY_FILE);
+		}
+	}
+
+	public Map<String, Long> toMap() {
+		Map<String, Long> means = new HashMap<>();
+		totals.forEach((key, total) -> means.put(key, total[0] / total[1]));
+		return Collections.unmodifiableMap(means);
+	}
+
+	public int size() {
+		return totals.size();
+	}
+
+	void save(Path file) {
+		Properties history = new Properties();
+		toMap().forEach((key, nanos) -> history.setProperty(key, String.valueOf(nanos)));
+		try {
+			Files.createDirectories(file.getParent());
+			Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try {
+				try (OutputStream out = Files.newOutputStream(temporary)) {
+					history.store(out, "Mean duration in nanoseconds per scenario: feature path:line=nanos");
+				}
+				Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(temporary);
+			}
+		} catch (IOException e) {
+			LOG.warn("Can not write duration history {}: {}", file, e.toString());
+		}
+	}
+
+	/** Normalizes a feature URI or path to the relative form used in "path:line" selectors. */
+	static String toFeaturePath(String uri) {
+		String path = uri.startsWith("file:") ? uri.substring("file:".length()) : uri;
+		Path resolved = Paths.get(path);
+		if (resolved.isAbsolute() && resolved.startsWith(WORKING_DIRECTORY)) {
+			resolved = WORKING_DIRECTORY.relativize(resolved);
+		}
+		return resolved.toString().replace('\\', '/');
+	}
+
+	private void read(Path source) throws IOException {
+		if (Files.isDirectory(source)) {
+			List<Path> files = new ArrayList<>();
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(source, "*.{json,ndjson}")) {
+				stream.forEach(files::add);
+			}
+			for (Path file : files) {
+				read(file);
+			}
+		} else if (Files.isRegularFile(source)) {
+			if (source.getFileName().toString().endsWith(".ndjson")) {
+				readScenarioFile(source);
+			} else if (source.getFileName().toString().endsWith(".properties")) {
+				readHistoryFile(source);
+			} else {
+				readCucumberJson(source);
+			}
+		}
+	}
+
+	private void readCucumberJson(Path file) throws IOException {
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+				JsonInput input = new Json().newInput(reader)) {
+			input.beginArray();
+			while (input.hasNext()) {
+				readFeature(input);
+			}
+			input.endArray();
+		}
+	}
+
+	private void readScenarioFile(Path file) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				try (JsonInput input = new Json().newInput(new StringReader(line))) {
+					String uri = null;
+					long[] element = null;
+					input.beginObject();
+					while (input.hasNext()) {
+						String name = input.nextName();
+						if ("uri".equals(name)) {
+							uri = input.nextString();
+						} else if ("element".equals(name)) {
+							element = readElement(input);
+						} else {
+							input.skipValue();
+						}
+					}
+					input.endObject();
+					if (uri != null && element != null) {
+						add(uri, element);
+					}
+				}
+			}
+		}
+	}
+
+	private void readHistoryFile(Path file) throws IOException {
+		Properties history = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			history.load(in);
+		}
+		for (String key : history.stringPropertyNames()) {
+			add(key, Long.parseLong(history.getProperty(key)));
+		}
+	}
+
+	private void readFeature(JsonInput input) {
+		// Cucumber does not promise that "uri" precedes "elements", so a feature's scenarios wait for it
+		String uri = null;
+		List<long[]> elements = new ArrayList<>();
+		input.beginObject();
+		while (input.hasNext()) {
+			String name = input.nextName();
+			if ("uri".equals(name)) {
+				uri = input.nextString();
+			} else if ("elements".equals(name)) {
+				input.beginArray();
+				while (input.hasNext()) {
+					long[] element = readElement(input);
+					if (element != null) {
+						elements.add(element);
+					}
+				}
+				input.endArray();
+			} else {
+				input.skipValue();
+			}
+		}
+		input.endObject();
+		if (uri != null) {
+			for (long[] element : elements) {
+				add(uri, element);
+			}
+		}
+	}
+
+	/** Returns {line, nanos} for a scenario, or null for backgrounds and elements without a line. */
+	private static long[] readElement(JsonInput input) {
+		long line = -1;
+		long nanos = 0;
+		boolean scenario = true;
+		input.beginObject();
+		while (input.hasNext()) {
+			String name = input.nextName();
+			switch (name) {
+			case "line":
+				line = input.nextNumber().longValue();
+				break;
+			case "type":
+				scenario = !"background".equals(input.nextString());
+				break;
+			case "before":
+			case "steps":
+			case "after":
+				nanos += readStepDurations(input);
+				break;
+			default:
+				input.skipValue();
+			}
+		}
+		input.endObject();
+		return scenario && line > 0 ? new long[] { line, nanos } : null;
+	}
+
+	private static long readStepDurations(JsonInput input) {
+		long nanos = 0;
+		input.beginArray();
+		while (input.hasNext()) {
+			input.beginObject();
+			while (input.hasNext()) {
+				if ("result".equals(input.nextName()) && input.peek() == JsonType.START_MAP) {
+					input.beginObject();
+					while (input.hasNext()) {
+						if ("duration".equals(input.nextName()) && input.peek() == JsonType.NUMBER) {
+							nanos += input.nextNumber().longValue();
+						} else {
+							input.skipValue();
+						}
+					}
+					input.endObject();
+				} else {
+					input.skipValue();
+				}
+			}
+			input.endObject();
+		}
+		input.endArray();
+		return nanos;
+	}
+
+	private void add(String uri, long[] element) {
+		add(toFeaturePath(uri) + ":" + element[0], element[1]);
+	}
+
+	private void add(String scenario, long nanos) {
+		long[] total = totals.computeIfAbsent(scenario, key -> new long[2]);
+		total[0] += nanos;
+		total[1]++;
+	}
+}
@@ -0,0 +1,144 @@
+package com.inf.shard;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.inf.report.ReportMerger;
+import com.inf.utils.PropertyUtils;
+
+/**
+ * Runs every shard of a plan in its own JVM on this machine and merges their scenario files into one report.
+ * Each child runs the TestNG runner on the cucumber.features selector planned for it, inherits the environment
+ * and the framework system properties of this JVM, gets an equal part of PoolSize, and writes its console output
+ * to target/shards/shard-N.log. The shard and java21 profiles start it with exec:java, so the -D options given to
+ * mvn are system properties here and reach the children; ShardJvmOptions adds JVM options to each child.
+ * A runner class with a main method, such as the virtual thread runner, is started directly instead of through
+ * TestNG. Build nodes that share the work instead run the suite themselves with -DShardIndex and -DShardCount and
+ * merge the collected scenario directories with {@link ReportMerger}.
+ */
+public final class ShardLauncher {
+	private static final Logger LOG = LogManager.getLogger(ShardLauncher.class.getName());
+	private static final String[] JVM_PROPERTY_PREFIXES = { "java.", "jdk.", "sun.", "os.", "user.", "file.", "line.", "path.", "awt.",
+			"native.", "stdout.", "stderr.", "maven.", "classworlds.", "library.", "exec.", "jansi.", "guice.", "org.slf4j." };
+
+	private ShardLauncher() {
+	}
+
+	/** Throws instead of exiting, since under exec:java this runs inside Maven. */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int shardCount = args.length > 0 ? Integer.parseInt(args[0]) : PropertyUtils.getInt("ShardCount", 2);
+		String runner = args.length > 1 ? args[1] : PropertyUtils.getValue("ShardRunner", "cucumberoptions.TestRunner");
+		Path outputDirectory = Paths.get(PropertyUtils.getValue("ReportDirectory", "target/site"));
+		Path logDirectory = Files.createDirectories(Paths.get("target", "shards"));
+
+		List<ShardPlanner.Shard> plan = ShardPlanner.plan(shardCount);
+		plan.forEach(shard -> LOG.info("Planned {}", shard));
+
+		List<Process> processes = new ArrayList<>();
+		long start = System.nanoTime();
+		for (ShardPlanner.Shard shard : plan) {
+			if (shard.getScenarios().isEmpty()) {
+				continue;
+			}
+			File logFile = logDirectory.resolve("shard-" + shard.getIndex() + ".log").toFile();
+			processes.add(new ProcessBuilder(command(shard, shardCount, runner, logDirectory)).redirectErrorStream(true)
+					.redirectOutput(logFile).start());
+		}
+		int exitCode = 0;
+		for (Process process : processes) {
+			exitCode = Math.max(exitCode, process.waitFor());
+		}
+		LOG.info("{} shards finished in {} s", processes.size(), String.format("%.1f", (System.nanoTime() - start) / 1e9));
+
+		ReportMerger.merge(outputDirectory);
+		if (exitCode != 0) {
+			throw new IllegalStateException("A shard failed with exit code " + exitCode + ", see " + logDirectory);
+		}
+	}
+
+	private static List<String> command(ShardPlanner.Shard shard, int shardCount, String runner, Path logDirectory) {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		for (String option : PropertyUtils.getValue("ShardJvmOptions", "").split("\\s+")) {
+			if (!option.isEmpty()) {
+				command.add(option);
+			}
+		}
+		command.add("-cp");
+		command.add(classpath());
+		for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+			String key = property.getKey().toString();
+			if (!isJvmProperty(key) && !key.startsWith("Shard") && !key.equals("PoolSize") && !(shardCount > 1 && key.equals("cucumber.features"))) {
+				command.add("-D" + key + "=" + property.getValue());
+			}
+		}
+		// Shards on one machine share its browsers
+		int poolSize = Math.max(1, PropertyUtils.getInt("PoolSize", Runtime.getRuntime().availableProcessors()) / shardCount);
+		command.add("-DPoolSize=" + poolSize);
+		command.add("-DShardCount=" + shardCount);
+		command.add("-DShardIndex=" + shard.getIndex());
+		if (shardCount > 1) {
+			// The plan of this launcher, not one recomputed from a history the other shards are rewriting
+			command.add("-Dcucumber.features=" + shard.toFeatureSelector());
+		}
+		if (hasMainMethod(runner)) {
+			command.add(runner);
+			return command;
+		}
+		command.add("org.testng.TestNG");
+		command.add("-d");
+		command.add(logDirectory.resolve("testng-" + shard.getIndex()).toString());
+		command.add("-dataproviderthreadcount");
+		command.add(String.valueOf(poolSize));
+		command.add("-testclass");
+		command.add(runner);
+		return command;
+	}
+
+	/** The project classpath; under exec:java that is the plugin's class loader, not java.class.path. */
+	private static String classpath() {
+		ClassLoader loader = ShardLauncher.class.getClassLoader();
+		if (!(loader instanceof URLClassLoader)) {
+			return System.getProperty("java.class.path");
+		}
+		List<String> entries = new ArrayList<>();
+		for (URL url : ((URLClassLoader) loader).getURLs()) {
+			try {
+				entries.add(Paths.get(url.toURI()).toString());
+			} catch (URISyntaxException e) {
+				throw new IllegalStateException("Unexpected classpath entry " + url, e);
+			}
+		}
+		return String.join(File.pathSeparator, entries);
+	}
+
+	private static boolean hasMainMethod(String runner) {
+		try {
+			Class.forName(runner, false, ShardLauncher.class.getClassLoader()).getMethod("main", String[].class);
+			return true;
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static boolean isJvmProperty(String key) {
+		for (String prefix : JVM_PROPERTY_PREFIXES) {
+			if (key.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
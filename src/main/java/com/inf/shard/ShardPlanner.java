@@ -0,0 +1,254 @@
+package com.inf.shard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.inf.utils.PropertyUtils;
+
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import io.cucumber.testng.CucumberOptions;
+
+/**
+ * Splits the scenarios under the feature directory into balanced shards by longest-processing-time bin
+ * packing over their historical durations: longest scenario first, each onto the currently lightest shard.
+ * Scenarios without history are weighted with the median known duration, and scenarios the runner's tag
+ * expression leaves out are not planned. The history defaults to the file every merged report adds to, which
+ * survives mvn clean. The plan only depends on the feature files, the tags and the history, so every fork or
+ * build node that passes the same ShardCount and history computes the same plan and runs just its ShardIndex.
+ */
+public final class ShardPlanner {
+	private static final Logger LOG = LogManager.getLogger(ShardPlanner.class.getName());
+	static final String FEATURES = PropertyUtils.getValue("ShardFeatures", "src/test/java/features");
+	static final String HISTORY = PropertyUtils.getValue("ShardHistory", ScenarioDurations.HISTORY_FILE.toString());
+	static final String OPTIONS_CLASS = PropertyUtils.getValue("ShardOptions", "cucumberoptions.TestRunner");
+	private static final long UNKNOWN_DURATION_NANOS = 1_000_000_000L;
+	// Cucumber runs nothing for this tag, which an empty cucumber.features would not achieve
+	private static final String EMPTY_SHARD_TAG = "@empty-shard";
+
+	private ShardPlanner() {
+	}
+
+	/** One shard of a plan: the "path:line" selectors it runs and their expected total duration. */
+	public static final class Shard {
+		private final int index;
+		private final List<String> scenarios = new ArrayList<>();
+		private long expectedNanos;
+
+		Shard(int index) {
+			this.index = index;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public List<String> getScenarios() {
+			return Collections.unmodifiableList(scenarios);
+		}
+
+		public long getExpectedNanos() {
+			return expectedNanos;
+		}
+
+		/** Groups the selectors per feature file, the form Cucumber accepts in cucumber.features. */
+		public String toFeatureSelector() {
+			Map<String, List<String>> lines = new LinkedHashMap<>();
+			for (String scenario : scenarios) {
+				int separator = scenario.lastIndexOf(':');
+				lines.computeIfAbsent(scenario.substring(0, separator), key -> new ArrayList<>()).add(scenario.substring(separator + 1));
+			}
+			return lines.entrySet().stream().map(entry -> entry.getKey() + ":" + String.join(":", entry.getValue())).collect(Collectors.joining(","));
+		}
+
+		@Override
+		public String toString() {
+			return String.format("shard %d: %d scenarios, expected %.1f s", index, scenarios.size(), expectedNanos / 1e9);
+		}
+	}
+
+	/**
+	 * Restricts this JVM to its shard when ShardIndex and ShardCount are set; must run before Cucumber reads its
+	 * options. Explicit cucumber.features or cucumber.filter.* properties are left alone.
+	 */
+	public static void applyShardFilter() {
+		int count = PropertyUtils.getInt("ShardCount", 1);
+		int index = PropertyUtils.getInt("ShardIndex", 0);
+		if (count <= 1 || System.getProperty("cucumber.features") != null) {
+			return;
+		}
+		if (index < 0 || index >= count) {
+			throw new IllegalArgumentException("ShardIndex must be between 0 and " + (count - 1) + " but was: " + index);
+		}
+		Shard shard = plan(count).get(index);
+		LOG.info("Running {} of {}", shard, count);
+		if (shard.getScenarios().isEmpty()) {
+			System.setProperty("cucumber.filter.tags", EMPTY_SHARD_TAG);
+		} else {
+			System.setProperty("cucumber.features", shard.toFeatureSelector());
+		}
+	}
+
+	public static List<Shard> plan(int shardCount) {
+		List<Path> history = Arrays.stream(HISTORY.split(",")).map(String::trim).filter(path -> !path.isEmpty()).map(Paths::get)
+				.collect(Collectors.toList());
+		return plan(findScenarios(Paths.get(FEATURES), TagExpressionParser.parse(tagExpression())), ScenarioDurations.load(history).toMap(), shardCount);
+	}
+
+	static List<Shard> plan(List<String> scenarios, Map<String, Long> durations, int shardCount) {
+		long fallback = median(durations);
+		List<String> ordered = new ArrayList<>(scenarios);
+		// Ties fall back to the selector so that every node sorts identically
+		ordered.sort(Comparator.<String>comparingLong(scenario -> durations.getOrDefault(scenario, fallback)).reversed()
+				.thenComparing(Comparator.naturalOrder()));
+		List<Shard> shards = new ArrayList<>();
+		PriorityQueue<Shard> lightest = new PriorityQueue<>(
+				Comparator.comparingLong(Shard::getExpectedNanos).thenComparingInt(Shard::getIndex));
+		for (int i = 0; i < shardCount; i++) {
+			Shard shard = new Shard(i);
+			shards.add(shard);
+			lightest.add(shard);
+		}
+		for (String scenario : ordered) {
+			Shard shard = lightest.poll();
+			shard.scenarios.add(scenario);
+			shard.expectedNanos += durations.getOrDefault(scenario, fallback);
+			lightest.add(shard);
+		}
+		if (!durations.isEmpty()) {
+			long known = scenarios.stream().filter(durations::containsKey).count();
+			LOG.info("Planned {} scenarios into {} shards, {} with history", scenarios.size(), shardCount, known);
+		}
+		return shards;
+	}
+
+	/**
+	 * Lists "path:line" selectors for every scenario, and for every example row of a scenario outline, since
+	 * those are the lines Cucumber reports and accepts. Only scenarios whose tags, inherited from the feature,
+	 * rule, outline and examples, match the filter are listed, so the plan holds what Cucumber will run.
+	 */
+	static List<String> findScenarios(Path root, Expression filter) {
+		List<String> scenarios = new ArrayList<>();
+		try (Stream<Path> files = Files.walk(root)) {
+			for (Path file : files.filter(path -> path.toString().endsWith(".feature")).sorted().collect(Collectors.toList())) {
+				scenarios.addAll(findScenarios(ScenarioDurations.toFeaturePath(file.toString()), Files.readAllLines(file, StandardCharsets.UTF_8), filter));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot list scenarios under " + root, e);
+		}
+		return scenarios;
+	}
+
+	static List<String> findScenarios(String featurePath, List<String> lines, Expression filter) {
+		List<String> scenarios = new ArrayList<>();
+		List<String> pendingTags = new ArrayList<>();
+		List<String> featureTags = Collections.emptyList();
+		List<String> ruleTags = Collections.emptyList();
+		List<String> outlineTags = Collections.emptyList();
+		List<String> examplesTags = Collections.emptyList();
+		boolean inExamples = false;
+		boolean header = false;
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (line.startsWith("@")) {
+				pendingTags.addAll(parseTags(line));
+				continue;
+			}
+			if (line.startsWith("Feature:")) {
+				featureTags = new ArrayList<>(pendingTags);
+				ruleTags = Collections.emptyList();
+			} else if (line.startsWith("Rule:")) {
+				ruleTags = new ArrayList<>(pendingTags);
+				inExamples = false;
+			} else if (line.startsWith("Scenario:") || line.startsWith("Example:")) {
+				if (filter.evaluate(concat(featureTags, ruleTags, pendingTags))) {
+					scenarios.add(featurePath + ":" + (i + 1));
+				}
+				inExamples = false;
+			} else if (line.startsWith("Scenario Outline:") || line.startsWith("Scenario Template:")) {
+				outlineTags = concat(featureTags, ruleTags, pendingTags);
+				inExamples = false;
+			} else if (line.startsWith("Examples:") || line.startsWith("Scenarios:")) {
+				examplesTags = concat(outlineTags, pendingTags);
+				inExamples = true;
+				header = true;
+			} else if (inExamples && line.startsWith("|")) {
+				if (!header && filter.evaluate(examplesTags)) {
+					scenarios.add(featurePath + ":" + (i + 1));
+				}
+				header = false;
+			} else if (line.startsWith("Background:")) {
+				inExamples = false;
+			}
+			if (!line.isEmpty() && !line.startsWith("#")) {
+				pendingTags.clear();
+			}
+		}
+		return scenarios;
+	}
+
+	/**
+	 * The tag expression Cucumber applies: cucumber.filter.tags when given, otherwise the tags of the
+	 * CucumberOptions on the ShardOptions runner class.
+	 */
+	static String tagExpression() {
+		String tags = PropertyUtils.getValue("cucumber.filter.tags", null);
+		if (tags != null) {
+			return tags;
+		}
+		try {
+			CucumberOptions options = Class.forName(OPTIONS_CLASS, false, ShardPlanner.class.getClassLoader()).getAnnotation(CucumberOptions.class);
+			return options == null ? "" : options.tags();
+		} catch (ClassNotFoundException e) {
+			LOG.warn("No runner class {} to read tags from, planning every scenario", OPTIONS_CLASS);
+			return "";
+		}
+	}
+
+	private static List<String> parseTags(String line) {
+		List<String> tags = new ArrayList<>();
+		for (String token : line.split("\\s+")) {
+			if (token.startsWith("#")) {
+				break;
+			}
+			if (token.startsWith("@")) {
+				tags.add(token);
+			}
+		}
+		return tags;
+	}
+
+	@SafeVarargs
+	private static List<String> concat(List<String>... tagLists) {
+		List<String> tags = new ArrayList<>();
+		for (List<String> tagList : tagLists) {
+			tags.addAll(tagList);
+		}
+		return tags;
+	}
+
+	private static long median(Map<String, Long> durations) {
+		if (durations.isEmpty()) {
+			return UNKNOWN_DURATION_NANOS;
+		}
+		long[] values = durations.values().stream().mapToLong(Long::longValue).sorted().toArray();
+		return values[values.length / 2];
+	}
+}
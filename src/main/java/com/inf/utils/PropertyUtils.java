@@ -0,0 +1,44 @@
+package com.inf.utils;
+
+public class PropertyUtils {
+
+	private PropertyUtils() {
+	}
+
+	public static String getValue(String key, String defaultValue) {
+		String value = System.getProperty(key);
+		if (value == null || value.isBlank()) {
+			value = System.getenv(key);
+		}
+		return (value == null || value.isBlank()) ? defaultValue : value.trim();
+	}
+
+	public static int getInt(String key, int defaultValue) {
+		String value = getValue(key, null);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Property " + key + " must be a number but was: " + value, e);
+		}
+	}
+
+	public static long getLong(String key, long defaultValue) {
+		String value = getValue(key, null);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Property " + key + " must be a number but was: " + value, e);
+		}
+	}
+
+	public static boolean getBoolean(String key, boolean defaultValue) {
+		String value = getValue(key, null);
+		return value == null ? defaultValue : Boolean.parseBoolean(value);
+	}
+}
@@ -1,5 +1,178 @@
 package com.inf.utils;
 
-public class RandomCharacters {
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Test data for parallel scenarios. Every thread has its own SplittableRandom and counter, so generating takes no
+ * lock and touches no shared state after the thread's first call.
+ *
+ * Random values are reproducible: the run seed (RandomSeed, or a fresh one that is logged) and the scenario key
+ * passed to {@link #seedScenario(String)} decide them, whatever thread or shard the scenario runs on. Unique values
+ * are not random; they combine the JVM start time and pid, the thread and a per-thread counter, so they differ
+ * across threads, forked JVMs and later runs against the same application without any shared file or database.
+ */
+public final class RandomCharacters {
+	private static final Logger LOG = LogManager.getLogger(RandomCharacters.class.getName());
+	private static final String LOWER_CASE = "abcdefghijklmnopqrstuvwxyz";
+	private static final String DIGITS = "0123456789";
+	private static final String ALPHANUMERIC = LOWER_CASE + LOWER_CASE.toUpperCase(Locale.ROOT) + DIGITS;
+	private static final String[] FIRST_NAMES = { "Anna", "Binh", "Carlos", "Dana", "Elif", "Farah", "Giulia", "Hoa", "Ivan", "Jana", "Kenji", "Lena",
+			"Mai", "Nikhil", "Olga", "Pablo", "Quang", "Rosa", "Sven", "Thao", "Umar", "Vera", "Wei", "Yusuf" };
+	private static final String[] LAST_NAMES = { "Andersen", "Bui", "Costa", "Dubois", "Eriksson", "Fischer", "Garcia", "Ho", "Ivanova", "Jensen",
+			"Kim", "Le", "Meyer", "Nguyen", "Okafor", "Pham", "Rossi", "Silva", "Tran", "Novak", "Vu", "Weber", "Yamamoto", "Zhang" };
+	private static final String[] CITIES = { "Amsterdam", "Berlin", "Da Nang", "Hanoi", "Lisbon", "Madrid", "Osaka", "Porto", "Prague", "Seoul" };
+	private static final String[] EMAIL_NAMES = toEmailNames(FIRST_NAMES, LAST_NAMES);
+	/** Reserved for documentation and testing by RFC 2606, so generated addresses never reach a real mailbox. */
+	private static final String[] EMAIL_DOMAINS = { "example.com", "example.net", "example.org" };
+
+	private static final long RUN_SEED = initRunSeed();
+	/** Start time in seconds and pid, both fixed width, so a token never reads as the prefix of another fork's. */
+	private static final String FORK_ID = fixedWidth(System.currentTimeMillis() / 1000, 6) + fixedWidth(ProcessHandle.current().pid(), 5);
+	private static final AtomicInteger THREAD_SLOTS = new AtomicInteger();
+	private static final ThreadLocal<Generator> GENERATOR = ThreadLocal.withInitial(Generator::new);
+
+	private RandomCharacters() {
+	}
+
+	private static final class Generator {
+		private final String uniquePrefix;
+		private SplittableRandom random;
+		private long counter;
+
+		Generator() {
+			String slot = Integer.toString(THREAD_SLOTS.getAndIncrement(), Character.MAX_RADIX);
+			// The slot length comes first, so the variable-length slot and counter can not run together ambiguously
+			uniquePrefix = FORK_ID + Character.forDigit(slot.length(), Character.MAX_RADIX) + slot;
+			random = new SplittableRandom(mix(RUN_SEED, uniquePrefix.hashCode()));
+		}
+	}
+
+	public static long getRunSeed() {
+		return RUN_SEED;
+	}
+
+	/**
+	 * Restarts the random values of the current thread from the run seed and the scenario key, so a rerun with
+	 * -DRandomSeed=<run seed> gives the scenario the same values. Returns the scenario seed.
+	 */
+	public static long seedScenario(String scenarioKey) {
+		long seed = mix(RUN_SEED, scenarioKey.hashCode());
+		GENERATOR.get().random = new SplittableRandom(seed);
+		return seed;
+	}
+
+	/** Lower-case letters and digits that no other call, thread or forked JVM returns. */
+	public static String uniqueToken() {
+		Generator generator = GENERATOR.get();
+		return generator.uniquePrefix + Long.toString(generator.counter++, Character.MAX_RADIX);
+	}
+
+	public static String uniqueEmail() {
+		Generator generator = GENERATOR.get();
+		return new StringBuilder(64).append(pick(generator, EMAIL_NAMES)).append('.').append(generator.uniquePrefix)
+				.append(Long.toString(generator.counter++, Character.MAX_RADIX)).append('@').append(pick(generator, EMAIL_DOMAINS)).toString();
+	}
+
+	public static String uniqueUsername(String prefix) {
+		return prefix + uniqueToken();
+	}
+
+	public static String firstName() {
+		return pick(GENERATOR.get(), FIRST_NAMES);
+	}
+
+	public static String lastName() {
+		return pick(GENERATOR.get(), LAST_NAMES);
+	}
+
+	public static String fullName() {
+		Generator generator = GENERATOR.get();
+		return pick(generator, FIRST_NAMES) + " " + pick(generator, LAST_NAMES);
+	}
+
+	public static String city() {
+		return pick(GENERATOR.get(), CITIES);
+	}
+
+	/** Ten digits not starting with 0, the format of the Guru99 telephone and most phone fields. */
+	public static String phoneNumber() {
+		return Character.forDigit(1 + nextInt(9), 10) + numeric(9);
+	}
+
+	public static String alphabetic(int length) {
+		return randomString(LOWER_CASE, length);
+	}
+
+	public static String numeric(int length) {
+		return randomString(DIGITS, length);
+	}
+
+	public static String alphanumeric(int length) {
+		return randomString(ALPHANUMERIC, length);
+	}
+
+	public static int nextInt(int bound) {
+		return GENERATOR.get().random.nextInt(bound);
+	}
+
+	public static int nextInt(int origin, int bound) {
+		return GENERATOR.get().random.nextInt(origin, bound);
+	}
+
+	public static <T> T pick(List<T> values) {
+		return values.get(nextInt(values.size()));
+	}
+
+	private static String pick(Generator generator, String[] values) {
+		return values[generator.random.nextInt(values.length)];
+	}
+
+	private static String randomString(String characters, int length) {
+		SplittableRandom random = GENERATOR.get().random;
+		char[] result = new char[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = characters.charAt(random.nextInt(characters.length()));
+		}
+		return new String(result);
+	}
+
+	/** Every "first.last" pair, lower-cased once so emails only concatenate. */
+	private static String[] toEmailNames(String[] firstNames, String[] lastNames) {
+		String[] names = new String[firstNames.length * lastNames.length];
+		int i = 0;
+		for (String first : firstNames) {
+			for (String last : lastNames) {
+				names[i++] = (first + "." + last).toLowerCase(Locale.ROOT);
+			}
+		}
+		return names;
+	}
+
+	private static String fixedWidth(long value, int width) {
+		String digits = Long.toString(value, Character.MAX_RADIX);
+		if (digits.length() >= width) {
+			return digits.substring(digits.length() - width);
+		}
+		return "0".repeat(width - digits.length()) + digits;
+	}
+
+	/** The SplitMix64 finalizer, so seeds that differ in one bit give unrelated sequences. */
+	private static long mix(long seed, long salt) {
+		long z = seed + salt * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	private static long initRunSeed() {
+		long seed = PropertyUtils.getLong("RandomSeed", mix(System.nanoTime(), ProcessHandle.current().pid()));
+		LOG.info("*** Random test data seed = {}, rerun with -DRandomSeed={} to reproduce it ***", seed, seed);
+		return seed;
+	}
 }
@@ -0,0 +1,138 @@
+package com.inf.shard;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import io.cucumber.tagexpressions.TagExpressionParser;
+
+public class ShardPlannerTest {
+	private static final String FEATURE = "src/test/java/features/sample.feature";
+
+	@Test
+	public void packsLongestScenarioFirstOntoLightestShard() {
+		Map<String, Long> durations = new HashMap<>();
+		durations.put("a:1", 7L);
+		durations.put("b:1", 5L);
+		durations.put("c:1", 4L);
+		durations.put("d:1", 3L);
+		durations.put("e:1", 3L);
+
+		List<ShardPlanner.Shard> shards = ShardPlanner.plan(Arrays.asList("a:1", "b:1", "c:1", "d:1", "e:1"), durations, 2);
+
+		assertEquals(shards.get(0).getScenarios(), Arrays.asList("a:1", "d:1"));
+		assertEquals(shards.get(1).getScenarios(), Arrays.asList("b:1", "c:1", "e:1"));
+		assertEquals(shards.get(0).getExpectedNanos(), 10L);
+		assertEquals(shards.get(1).getExpectedNanos(), 12L);
+	}
+
+	@Test
+	public void plansEveryScenarioExactlyOnceWithinTheLongestScenarioOfBalance() {
+		List<String> scenarios = new ArrayList<>();
+		Map<String, Long> durations = new HashMap<>();
+		for (int i = 1; i <= 50; i++) {
+			scenarios.add("feature:" + i);
+			durations.put("feature:" + i, (i * 7919L) % 97 + 1);
+		}
+
+		List<ShardPlanner.Shard> shards = ShardPlanner.plan(scenarios, durations, 4);
+
+		List<String> planned = new ArrayList<>();
+		long lightest = Long.MAX_VALUE;
+		long heaviest = 0;
+		for (ShardPlanner.Shard shard : shards) {
+			planned.addAll(shard.getScenarios());
+			lightest = Math.min(lightest, shard.getExpectedNanos());
+			heaviest = Math.max(heaviest, shard.getExpectedNanos());
+		}
+		Collections.sort(planned);
+		List<String> expected = new ArrayList<>(scenarios);
+		Collections.sort(expected);
+		assertEquals(planned, expected);
+		assertTrue(heaviest - lightest <= Collections.max(durations.values()), "Shards differ by " + (heaviest - lightest));
+	}
+
+	@Test
+	public void weighsScenariosWithoutHistoryWithTheMedian() {
+		Map<String, Long> durations = new HashMap<>();
+		durations.put("a:1", 10L);
+		durations.put("b:1", 20L);
+		durations.put("c:1", 30L);
+
+		List<ShardPlanner.Shard> shards = ShardPlanner.plan(Arrays.asList("a:1", "b:1", "c:1", "new:1"), durations, 2);
+
+		assertEquals(shards.get(0).getExpectedNanos() + shards.get(1).getExpectedNanos(), 80L);
+	}
+
+	@Test
+	public void plansTheSameWhateverTheInputOrder() {
+		List<String> scenarios = Arrays.asList("b:1", "a:1", "d:1", "c:1");
+		List<String> reversed = new ArrayList<>(scenarios);
+		Collections.reverse(reversed);
+
+		List<ShardPlanner.Shard> first = ShardPlanner.plan(scenarios, Collections.emptyMap(), 3);
+		List<ShardPlanner.Shard> second = ShardPlanner.plan(reversed, Collections.emptyMap(), 3);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(first.get(i).getScenarios(), second.get(i).getScenarios());
+		}
+	}
+
+	@Test
+	public void leavesExtraShardsEmpty() {
+		List<ShardPlanner.Shard> shards = ShardPlanner.plan(Collections.singletonList("a:1"), Collections.emptyMap(), 3);
+
+		assertEquals(shards.size(), 3);
+		assertEquals(shards.get(0).getScenarios(), Collections.singletonList("a:1"));
+		assertTrue(shards.get(1).getScenarios().isEmpty());
+		assertTrue(shards.get(2).getScenarios().isEmpty());
+	}
+
+	@Test
+	public void listsOnlyScenariosMatchingTheTagsTheyInherit() {
+		List<String> lines = Arrays.asList(
+				"@smoke",
+				"Feature: Sample",
+				"",
+				"  Scenario: Untagged",
+				"    Given a step",
+				"",
+				"  @displayed @slow # not a tag",
+				"  Scenario: Tagged",
+				"    Given a step",
+				"",
+				"  @displayed",
+				"  Rule: Tagged rule",
+				"",
+				"    Example: Inherits the rule",
+				"      Given a step",
+				"",
+				"    Scenario Outline: Outline <n>",
+				"      Given a step",
+				"",
+				"      Examples: Inherit the rule",
+				"        | n |",
+				"        | 1 |",
+				"",
+				"      @wip",
+				"      Examples: Tagged examples",
+				"        | n |",
+				"        | 2 |");
+
+		assertEquals(ShardPlanner.findScenarios(FEATURE, lines, TagExpressionParser.parse("@displayed")),
+				Arrays.asList(FEATURE + ":8", FEATURE + ":14", FEATURE + ":22", FEATURE + ":27"));
+		assertEquals(ShardPlanner.findScenarios(FEATURE, lines, TagExpressionParser.parse("@displayed and not @wip")),
+				Arrays.asList(FEATURE + ":8", FEATURE + ":14", FEATURE + ":22"));
+		assertEquals(ShardPlanner.findScenarios(FEATURE, lines, TagExpressionParser.parse("@smoke and not @displayed")),
+				Collections.singletonList(FEATURE + ":4"));
+		assertEquals(ShardPlanner.findScenarios(FEATURE, lines, TagExpressionParser.parse("")).size(), 5);
+	}
+}
@@ -1,86 +1,126 @@
 package cucumberoptions;
 
-import java.time.Duration;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.remote.UnreachableBrowserException;
 
 import com.inf.commons.GlobalConstants;
+import com.inf.commons.LocatorCache;
+import com.inf.commons.WaitStatistics;
+import com.inf.driver.DriverFactory;
+import com.inf.driver.DriverPool;
+import com.inf.driver.RemoteDriverFactory;
+import com.inf.fixture.FixtureServer;
+import com.inf.fixture.SiteResolver;
+import com.inf.metrics.ActionMetrics;
+import com.inf.metrics.ActionMetricsPlugin;
+import com.inf.network.RequestShaper;
+import com.inf.report.FailureCapture;
+import com.inf.report.ScenarioLog;
+import com.inf.utils.RandomCharacters;
 
+import io.cucumber.java.After;
 import io.cucumber.java.Before;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import io.cucumber.java.Scenario;
 
 public class Hooks {
-	private static WebDriver driver;
 	private static final Logger LOGGER = LogManager.getLogger(Hooks.class.getName());
-	
-	@Before
-	public synchronized static WebDriver openAndQuitBrowser() {
-		String browserName = System.getProperty("Browser");
-		LOGGER.info("*** Browser name run by command line = " + browserName);
-		
-		// Check does driver initialize?
-		if (driver == null) {
-			try {
-				if (browserName == null) {
-					browserName = System.getenv("Browser");
-					if (browserName == null) {
-						browserName = "chrome";
-					}
-				}
-				
-				switch(browserName) {
-				case "chrome":
-					WebDriverManager.chromedriver().setup();
-					driver = new ChromeDriver();
-					break;
-				case "firefox":
-					WebDriverManager.firefoxdriver().setup();
-					driver = new FirefoxDriver();
-					break;
-				case "edge":
-					WebDriverManager.edgedriver().setup();
-					driver = new EdgeDriver();
-					break;
-				default:
-					WebDriverManager.chromedriver().setup();
-					driver = new ChromeDriver();
-					break;
-				}
-			} catch(Exception e) {
-				LOGGER.info("*** Browser name invalid. Please check again! ***", e);
-			} finally {
-				Runtime.getRuntime().addShutdownHook(new Thread(new BrowserCleanup()));
-			}
-			
-			driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(GlobalConstants.LONG_TIMEOUT));
-			driver.manage().window().maximize();
-			driver.get(GlobalConstants.BANK_GURU_URL);
+	private static final DriverPool DRIVER_POOL = DriverPool.getInstance();
+	private static final Path REPORT_DIRECTORY = Paths.get("target/site");
+	private static final ThreadLocal<Path> SCENARIO_LOG = new ThreadLocal<>();
+
+	static {
+		LOGGER.info("*** Browser name run by command line = {}, pool size = {}, zero implicit wait = {}, browser profile = {}, resource profile = {}", DriverFactory.getBrowserName(),
+				DRIVER_POOL.getPoolSize(), GlobalConstants.ZERO_IMPLICIT_WAIT, DriverFactory.getBrowserProfile().describe(), RequestShaper.getProfile());
+		ActionMetricsPlugin.addClassification("Browser", DriverFactory.getBrowserName());
+		ActionMetricsPlugin.addClassification("Browser profile", DriverFactory.getBrowserProfile().describe());
+		ActionMetricsPlugin.addClassification("Resource profile", RequestShaper.getProfile().name());
+		ActionMetricsPlugin.addClassification("Pool size", String.valueOf(DRIVER_POOL.getPoolSize()));
+		ActionMetricsPlugin.addClassification("Random seed", String.valueOf(RandomCharacters.getRunSeed()));
+		if (RemoteDriverFactory.isEnabled()) {
+			ActionMetricsPlugin.addClassification("Grid", RemoteDriverFactory.getGridUrl());
+		}
+		if (SiteResolver.isFixtureMode()) {
+			ActionMetricsPlugin.addClassification("Site", "fixtures at " + FixtureServer.getInstance().getBaseUrl());
 		}
-		
-		return driver;
+		Runtime.getRuntime().addShutdownHook(new Thread(new BrowserCleanup()));
+		DRIVER_POOL.prewarm();
 	}
-	
-	public static void close() {
+
+	@Before(order = 0)
+	public void beginScenarioLog(Scenario scenario) {
+		SCENARIO_LOG.set(ScenarioLog.begin(scenario.getUri(), scenario.getName(), scenario.getLine()));
+	}
+
+	@Before(order = 0)
+	public void seedTestData(Scenario scenario) {
+		RandomCharacters.seedScenario(ScenarioLog.key(scenario.getUri(), scenario.getName(), scenario.getLine()));
+	}
+
+	@Before
+	public void openBrowser() {
+		openAndQuitBrowser();
+	}
+
+	@After
+	public void returnBrowser(Scenario scenario) {
+		WebDriver driver = DRIVER_POOL.getCurrentDriver();
+		// The browser goes back to the pool, and is reset there, even when reporting on it fails
 		try {
-			if (driver != null) {
-				openAndQuitBrowser().quit();
-				LOGGER.info("*** Closed the browser ***");
+			if (driver != null && scenario.isFailed() && FailureCapture.isEnabled()) {
+				scenario.attach(FailureCapture.capture(driver, scenario.getUri(), scenario.getName(), scenario.getLine(), REPORT_DIRECTORY), "text/html", "Failure capture");
+			}
+			if (driver != null && RequestShaper.of(driver).isAttached()) {
+				String savings = "Resource profile " + RequestShaper.getProfile() + ": " + RequestShaper.of(driver).takeSavings();
+				LOGGER.info("*** {} - {} ***", scenario.getName(), savings);
+				scenario.log(savings);
 			}
-		} catch(UnreachableBrowserException e) {
-			LOGGER.info("*** Can not close the browser ***", e);
+			if (ActionMetrics.isEnabled()) {
+				scenario.attach(ActionMetrics.currentScenarioSummary(10), "text/plain", "Slowest actions");
+			}
+		} finally {
+			releaseBrowser();
+		}
+	}
+
+	@After(order = 0)
+	public void endScenarioLog(Scenario scenario) {
+		Path logFile = SCENARIO_LOG.get();
+		SCENARIO_LOG.remove();
+		ScenarioLog.end();
+		if (logFile != null) {
+			scenario.attach(ScenarioLog.link(logFile, REPORT_DIRECTORY), "text/html", "Scenario log");
 		}
 	}
-	
+
+	public static WebDriver openAndQuitBrowser() {
+		return DRIVER_POOL.acquire();
+	}
+
+	public static void releaseBrowser() {
+		DRIVER_POOL.release();
+	}
+
+	public static void close() {
+		DRIVER_POOL.quitAll();
+	}
+
 	private static class BrowserCleanup implements Runnable {
 		@Override
 		public void run() {
+			if (LOGGER.isInfoEnabled()) {
+				LOGGER.info("*** Locator cache: {} entries, {} hits, {} misses, hit ratio {}% ***", LocatorCache.size(), LocatorCache.getHitCount(), LocatorCache.getMissCount(),
+						Math.round(LocatorCache.getHitRatio() * 100));
+				LOGGER.info(WaitStatistics.summary(20));
+			}
+			RequestShaper.saveResourceSizes();
 			close();
+			FixtureServer.stop();
+			FailureCapture.shutdown();
+			ScenarioLog.shutdown();
 		}
 	}
 }
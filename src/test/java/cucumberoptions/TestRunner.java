@@ -1,19 +1,33 @@
 package cucumberoptions;
 
-import org.junit.runner.RunWith;
+import org.testng.annotations.DataProvider;
 
-import io.cucumber.junit.Cucumber;
-import io.cucumber.junit.CucumberOptions;
-import io.cucumber.junit.CucumberOptions.SnippetType;
+import com.inf.driver.DriverPool;
+import com.inf.shard.ShardPlanner;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.CucumberOptions.SnippetType;
 
-@RunWith(Cucumber.class)
 @CucumberOptions(
 		features = "src/test/java/features",
-		glue = "stepdefinitions",
+		glue = {"stepdefinitions", "cucumberoptions"},
 		monochrome = true,
-		plugin = {"pretty", "html:target/site/cucumber-report-default", "json:target/site/cucumber.json"},
+		plugin = {"pretty", "html:target/site/cucumber-report-default", "com.inf.report.StreamingReportPlugin:target/site",
+				"com.inf.metrics.ActionMetricsPlugin:target/site/action-metrics.json"},
 		snippets = SnippetType.CAMELCASE,
 		tags = "@displayed")
-public class TestRunner {
+public class TestRunner extends AbstractTestNGCucumberTests {
+	static {
+		// Cucumber reads cucumber.features after this, so a shard sees only its own scenarios
+		ShardPlanner.applyShardFilter();
+		// Browsers start while Cucumber is still parsing features and scanning glue
+		DriverPool.getInstance().prewarm();
+	}
 
+	@Override
+	@DataProvider(parallel = true)
+	public Object[][] scenarios() {
+		return super.scenarios();
+	}
 }
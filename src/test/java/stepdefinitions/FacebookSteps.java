@@ -1,27 +1,23 @@
 package stepdefinitions;
 
-import java.time.Duration;
-
 import org.junit.Assert;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 
+import com.inf.fixture.SiteResolver;
+
+import cucumberoptions.Hooks;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
-import io.github.bonigarcia.wdm.WebDriverManager;
 
 public class FacebookSteps {
 	WebDriver driver;
 	
     @Given("^Open Facebook application$")
     public void open_facebook_application()  {
-        WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(15));
-        driver.manage().window().maximize();
-        driver.get("https://www.facebook.com/");
+        driver = Hooks.openAndQuitBrowser();
+        driver.get(SiteResolver.resolve("https://www.facebook.com/"));
     }
 
     @Then("^Verify email textbox is displayed$")
@@ -36,7 +32,7 @@ public class FacebookSteps {
 
     @And("Close application$")
     public void closeApplication()  {
-    	driver.quit();
+    	// The @After hook captures failures and returns the browser to the pool, so it must still hold it here
     }
 
 }
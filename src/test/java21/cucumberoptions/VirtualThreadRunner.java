@@ -0,0 +1,90 @@
+package cucumberoptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.SkipException;
+
+import com.inf.driver.DriverPool;
+import com.inf.shard.ShardPlanner;
+
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+
+/**
+ * Runs the scenarios of {@link TestRunner} on virtual threads, one per scenario; built and run by the java21
+ * profile. WebDriver steps spend their time blocked on HTTP calls to the browser, which a virtual thread waits
+ * for without holding a platform thread. How many scenarios run at once is capped by a semaphore with one
+ * permit per pooled browser, so no scenario waits for a browser inside DriverPool, instead of by the size of a
+ * thread pool. Like each TestNG worker thread, each virtual thread builds its own Cucumber runner and glue.
+ * A virtual thread that blocks while holding a monitor pins its carrier thread, so framework code that blocks on
+ * the browser, the network or a file under a lock uses a ReentrantLock rather than synchronized. The java21
+ * profile runs with -Djdk.tracePinnedThreads=short to have the JDK report a step that still pins its carrier.
+ */
+public final class VirtualThreadRunner {
+	private static final Logger LOGGER = LogManager.getLogger(VirtualThreadRunner.class.getName());
+
+	private VirtualThreadRunner() {
+	}
+
+	public static void main(String[] args) {
+		// What the static block of TestRunner does before TestNG asks it for scenarios
+		ShardPlanner.applyShardFilter();
+		DriverPool driverPool = DriverPool.getInstance();
+		driverPool.prewarm();
+
+		TestNGCucumberRunner runner = new TestNGCucumberRunner(TestRunner.class);
+		AtomicInteger failed = new AtomicInteger();
+		AtomicInteger skipped = new AtomicInteger();
+		Object[][] scenarios = runner.provideScenarios();
+		List<Runnable> tasks = new ArrayList<>();
+		for (Object[] scenario : scenarios) {
+			PickleWrapper pickle = (PickleWrapper) scenario[0];
+			tasks.add(() -> runScenario(runner, pickle, failed, skipped));
+		}
+		long start = System.nanoTime();
+		runAll(tasks, driverPool.getPoolSize());
+		runner.finish();
+		LOGGER.info("*** {} scenarios on virtual threads, {} browsers: {} failed, {} skipped in {} s ***", scenarios.length, driverPool.getPoolSize(),
+				failed.get(), skipped.get(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+		System.exit(failed.get() == 0 ? 0 : 1);
+	}
+
+	/**
+	 * Runs every task on its own virtual thread, at most concurrency of them at once, and returns when all have
+	 * finished.
+	 */
+	public static void runAll(List<Runnable> tasks, int concurrency) {
+		Semaphore permits = new Semaphore(concurrency);
+		try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("virtual-scenario-", 1).factory())) {
+			for (Runnable task : tasks) {
+				executor.execute(() -> {
+					permits.acquireUninterruptibly();
+					try {
+						task.run();
+					} finally {
+						permits.release();
+					}
+				});
+			}
+		}
+	}
+
+	private static void runScenario(TestNGCucumberRunner runner, PickleWrapper pickle, AtomicInteger failed, AtomicInteger skipped) {
+		try {
+			runner.runScenario(pickle.getPickle());
+		} catch (SkipException e) {
+			skipped.incrementAndGet();
+		} catch (RuntimeException | Error e) {
+			failed.incrementAndGet();
+			LOGGER.info("*** Scenario {} failed: {} ***", pickle, e.toString());
+		}
+	}
+}
@@ -0,0 +1,26 @@
+<!DOCTYPE html>
+<html>
+<head>
+<meta charset="UTF-8">
+<title>Guru99 Bank Manager HomePage</title>
+</head>
+<body>
+	<h2 class="barone">Guru99 Bank</h2>
+	<ul class="menusubnav">
+		<li><a href="Managerhomepage.php">Manager</a></li>
+		<li><a href="addcustomerpage.php">New Customer</a></li>
+		<li><a href="EditCustomer.php">Edit Customer</a></li>
+		<li><a href="Logout.php">Log out</a></li>
+	</ul>
+	<marquee class="heading3">Welcome To Manager's Page of Guru99 Bank</marquee>
+	<table>
+		<tr class="heading3">
+			<td id="managerId"></td>
+		</tr>
+	</table>
+	<script>
+		var uid = new URLSearchParams(location.search).get('uid') || '';
+		document.getElementById('managerId').textContent = 'Manger Id : ' + uid;
+	</script>
+</body>
+</html>
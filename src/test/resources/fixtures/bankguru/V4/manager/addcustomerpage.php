@@ -0,0 +1,55 @@
+<!DOCTYPE html>
+<html>
+<head>
+<meta charset="UTF-8">
+<title>Guru99 Bank New Customer Entry Page</title>
+</head>
+<body>
+	<h2 class="barone">Guru99 Bank</h2>
+	<p class="heading3">Add New Customer</p>
+	<form name="addcust" method="get" action="CustomerRegMsg.php" onsubmit="return validateAll();">
+		<table>
+			<tr><td>Customer Name</td><td><input type="text" name="name" onkeyup="validate(this)" onblur="validate(this)"><label></label></td></tr>
+			<tr><td>Gender</td><td><input type="radio" name="rad1" value="m" checked>male <input type="radio" name="rad1" value="f">female</td></tr>
+			<tr><td>Date of Birth</td><td><input type="date" name="dob" onkeyup="validate(this)" onblur="validate(this)"><label></label></td></tr>
+			<tr><td>Address</td><td><textarea name="addr" rows="5" cols="20" onkeyup="validate(this)" onblur="validate(this)"></textarea><label></label></td></tr>
+			<tr><td>City</td><td><input type="text" name="city" onkeyup="validate(this)" onblur="validate(this)"><label></label></td></tr>
+			<tr><td>State</td><td><input type="text" name="state" onkeyup="validate(this)" onblur="validate(this)"><label></label></td></tr>
+			<tr><td>PIN</td><td><input type="text" name="pinno" maxlength="6" onkeyup="validate(this)" onblur="validate(this)"><label></label></td></tr>
+			<tr><td>Mobile Number</td><td><input type="text" name="telephoneno" onkeyup="validate(this)" onblur="validate(this)"><label></label></td></tr>
+			<tr><td>E-mail</td><td><input type="text" name="emailid" onkeyup="validate(this)" onblur="validate(this)"><label></label></td></tr>
+			<tr><td>Password</td><td><input type="password" name="password" onkeyup="validate(this)" onblur="validate(this)"><label></label></td></tr>
+			<tr><td></td><td><input type="submit" name="sub" value="Submit"> <input type="reset" value="Reset"></td></tr>
+		</table>
+	</form>
+	<script>
+		var rules = {
+			pinno: [/^\d{6}$/, 'PIN Code must have 6 Digits'],
+			telephoneno: [/^\d+$/, 'Characters are not allowed'],
+			emailid: [/^[^@\s]+@[^@\s]+\.[^@\s]+$/, 'Email-ID is not valid']
+		};
+
+		function validate(field) {
+			var label = field.nextElementSibling, message = '';
+			if (field.value === '') {
+				message = field.name + ' must not be blank';
+			} else if (rules[field.name] && !rules[field.name][0].test(field.value)) {
+				message = rules[field.name][1];
+			}
+			label.textContent = message;
+			return message === '';
+		}
+
+		function validateAll() {
+			var valid = true;
+			document.querySelectorAll('form[name=addcust] input[onblur], form[name=addcust] textarea').forEach(function(field) {
+				valid = validate(field) && valid;
+			});
+			if (!valid) {
+				alert('please fill all fields');
+			}
+			return valid;
+		}
+	</script>
+</body>
+</html>